@@ -0,0 +1,89 @@
+package com.styleai.benchmark;
+
+import com.styleai.dto.ClosetItemDTO;
+import com.styleai.entity.ClosetItem;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic closets and field injection for benchmarks that run the
+ * services without a Spring context.
+ */
+public final class BenchmarkFixtures {
+
+    private static final String[] CATEGORIES = {"Tops", "Bottoms", "Dresses", "Outerwear", "Shoes", "Accessories"};
+    private static final String[] COLORS = {"White", "Black", "Blue", "Red", "Gray", "Navy", "Beige", "Green", "Pink"};
+    private static final String[] SEASONS = {"Spring", "Summer", "Autumn", "Winter", "All"};
+    private static final String[] NAMES = {"Cotton T-Shirt", "Denim Jeans", "Wool Coat", "Summer Dress", "Leather Boots", "Silk Scarf"};
+
+    private BenchmarkFixtures() {}
+
+    public static List<ClosetItemDTO> closetItems(int size, long seed) {
+        Random random = new Random(seed);
+        LocalDate today = LocalDate.of(2024, 6, 1);
+        List<ClosetItemDTO> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ClosetItemDTO item = new ClosetItemDTO();
+            item.setId((long) i + 1);
+            item.setName(NAMES[random.nextInt(NAMES.length)] + " " + i);
+            item.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            item.setColor(COLORS[random.nextInt(COLORS.length)]);
+            item.setSeasons(randomSeasons(random));
+            item.setImageUrl("https://example.com/items/" + i + ".jpg");
+            item.setLastWorn(random.nextBoolean() ? today.minusDays(random.nextInt(90)) : null);
+            item.setDataAiHint(item.getColor().toLowerCase() + " item");
+            items.add(item);
+        }
+        return items;
+    }
+
+    public static List<ClosetItem> closetEntities(int size, long seed) {
+        List<ClosetItem> entities = new ArrayList<>(size);
+        for (ClosetItemDTO dto : closetItems(size, seed)) {
+            ClosetItem item = new ClosetItem(dto.getName(), dto.getCategory(), dto.getColor(), dto.getSeasons());
+            item.setId(dto.getId());
+            item.setImageUrl(dto.getImageUrl());
+            item.setLastWorn(dto.getLastWorn());
+            item.setDataAiHint(dto.getDataAiHint());
+            entities.add(item);
+        }
+        return entities;
+    }
+
+    /**
+     * Sets a (possibly private, possibly inherited) field, standing in for
+     * Spring's @Autowired and @Value injection.
+     */
+    public static void setField(Object target, String name, Object value) {
+        Class<?> type = target.getClass();
+        while (type != null) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                type = type.getSuperclass();
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot set " + name, e);
+            }
+        }
+        throw new IllegalArgumentException("No field " + name + " on " + target.getClass().getName());
+    }
+
+    private static List<String> randomSeasons(Random random) {
+        List<String> seasons = new ArrayList<>(2);
+        seasons.add(SEASONS[random.nextInt(SEASONS.length)]);
+        if (random.nextBoolean()) {
+            String second = SEASONS[random.nextInt(SEASONS.length)];
+            if (!seasons.contains(second)) {
+                seasons.add(second);
+            }
+        }
+        return seasons;
+    }
+}
@@ -0,0 +1,55 @@
+package com.styleai.benchmark;
+
+import com.styleai.dto.ClosetItemDTO;
+import com.styleai.entity.ClosetItem;
+import com.styleai.service.ClosetItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping for a whole closet, the per-item cost of every
+ * list endpoint once the rows are loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClosetItemConversionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int closetSize;
+
+    private ClosetItemService closetItemService;
+    private List<ClosetItem> entities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        closetItemService = new ClosetItemService();
+        entities = BenchmarkFixtures.closetEntities(closetSize, 42L);
+    }
+
+    @Benchmark
+    public List<ClosetItemDTO> convertToDTO() {
+        List<ClosetItemDTO> dtos = new ArrayList<>(entities.size());
+        for (ClosetItem entity : entities) {
+            dtos.add(closetItemService.convertToDTO(entity));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,77 @@
+package com.styleai.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.styleai.dto.AIAnalysisResponse;
+import com.styleai.service.GeminiResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the analysis out of a typical Gemini response: the streaming parser
+ * against deserializing the envelope into nested Maps and the text into a String
+ * before binding it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeminiResponseParsingBenchmark {
+
+    private static final String RESPONSE = "{"
+            + "\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":"
+            + "\"```json\\n{\\\"name\\\": \\\"Blue Denim Jacket\\\", \\\"category\\\": \\\"Outerwear\\\", "
+            + "\\\"color\\\": \\\"Blue\\\", \\\"seasons\\\": [\\\"Spring\\\", \\\"Autumn\\\"]}\\n```\"}]},"
+            + "\"finishReason\":\"STOP\",\"index\":0,\"safetyRatings\":["
+            + "{\"category\":\"HARM_CATEGORY_HARASSMENT\",\"probability\":\"NEGLIGIBLE\"},"
+            + "{\"category\":\"HARM_CATEGORY_HATE_SPEECH\",\"probability\":\"NEGLIGIBLE\"},"
+            + "{\"category\":\"HARM_CATEGORY_SEXUALLY_EXPLICIT\",\"probability\":\"NEGLIGIBLE\"},"
+            + "{\"category\":\"HARM_CATEGORY_DANGEROUS_CONTENT\",\"probability\":\"NEGLIGIBLE\"}]}],"
+            + "\"usageMetadata\":{\"promptTokenCount\":312,\"candidatesTokenCount\":41,\"totalTokenCount\":353}"
+            + "}";
+
+    private ObjectMapper objectMapper;
+    private GeminiResponseParser parser;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        parser = new GeminiResponseParser(objectMapper);
+        body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public AIAnalysisResponse streaming() {
+        return parser.parseAnalysis(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public AIAnalysisResponse nestedMaps() throws Exception {
+        Map<String, Object> envelope = objectMapper.readValue(body, Map.class);
+        List<Map<String, Object>> candidates = (List<Map<String, Object>>) envelope.get("candidates");
+        Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
+        List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
+        String text = (String) parts.get(0).get("text");
+        String json = text.substring(text.indexOf('{'), text.lastIndexOf('}') + 1);
+        return objectMapper.readValue(json, AIAnalysisResponse.class);
+    }
+}
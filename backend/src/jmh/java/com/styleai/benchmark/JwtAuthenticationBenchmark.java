@@ -0,0 +1,98 @@
+package com.styleai.benchmark;
+
+import com.styleai.entity.User;
+import com.styleai.repository.UserRepository;
+import com.styleai.security.JwtAuthenticationFilter;
+import com.styleai.security.JwtUtils;
+import com.styleai.security.PrincipalMode;
+import com.styleai.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through JwtAuthenticationFilter per principal
+ * mode. The user repository is an in-memory stub, so DATABASE mode is a
+ * lower bound: it measures the lookup path without the query round trip.
+ * Sampled so the report includes p50/p90/p99 per mode, not only the mean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {};
+
+    @Param({"STATELESS", "CACHED", "DATABASE"})
+    public PrincipalMode mode;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtUtils jwtUtils = JwtBenchmark.jwtUtils();
+
+        User user = new User("Bench", "bench@example.com", "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm");
+        user.setId(1L);
+
+        UserService userService = new UserService(stubRepository(user), new BCryptPasswordEncoder(),
+                jwtUtils, new SimpleMeterRegistry());
+        BenchmarkFixtures.setField(userService, "userCacheTtl", Duration.ofSeconds(60));
+        BenchmarkFixtures.setField(userService, "userCacheMaxSize", 10_000L);
+        BenchmarkFixtures.setField(userService, "principalMode", mode);
+        userService.initUserDetailsCache();
+
+        filter = new JwtAuthenticationFilter(jwtUtils, userService, mode);
+        request = new MockHttpServletRequest("GET", "/api/closet-items");
+        request.addHeader("Authorization", "Bearer " + jwtUtils.generateJwtToken(user.getEmail(), user.getId()));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static UserRepository stubRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class},
+                (proxy, method, args) -> {
+                    if ("findByEmail".equals(method.getName())) {
+                        return user.getEmail().equals(args[0]) ? Optional.of(user) : Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,65 @@
+package com.styleai.benchmark;
+
+import com.styleai.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification; the cached path is what repeat requests
+ * with the same token pay, the uncached path is a full signature check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtils = jwtUtils();
+        token = jwtUtils.generateJwtToken("bench@example.com", 1L);
+    }
+
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        BenchmarkFixtures.setField(jwtUtils, "jwtSecret", SECRET);
+        BenchmarkFixtures.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        BenchmarkFixtures.setField(jwtUtils, "verifiedCacheMaxSize", 10_000L);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateJwtToken("bench@example.com", 1L);
+    }
+
+    @Benchmark
+    public Claims validateCached() {
+        return jwtUtils.getVerifiedClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateUncached() {
+        return jwtUtils.validateJwtToken(token);
+    }
+}
@@ -0,0 +1,74 @@
+package com.styleai.benchmark;
+
+import com.styleai.dto.AIAnalysisResponse;
+
+import java.util.Arrays;
+
+/**
+ * The sequential contains() chain GeminiAIService used before KeywordClassifier,
+ * kept verbatim as the benchmark baseline.
+ */
+final class LegacyKeywordChain {
+
+    private LegacyKeywordChain() {}
+
+    static AIAnalysisResponse classify(String itemName) {
+        AIAnalysisResponse response = new AIAnalysisResponse();
+        String lowerName = itemName.toLowerCase();
+        
+        // Improved text analysis for category
+        if (lowerName.contains("shirt") || lowerName.contains("tee") || lowerName.contains("t-shirt") || 
+            lowerName.contains("top") || lowerName.contains("blouse") || lowerName.contains("sweater") || 
+            lowerName.contains("hoodie") || lowerName.contains("cardigan") || lowerName.contains("tank")) {
+            response.setCategory("Tops");
+        } else if (lowerName.contains("jeans") || lowerName.contains("pants") || lowerName.contains("trousers") || 
+                   lowerName.contains("shorts") || lowerName.contains("skirt") || lowerName.contains("leggings")) {
+            response.setCategory("Bottoms");
+        } else if (lowerName.contains("dress") || lowerName.contains("gown") || lowerName.contains("sundress")) {
+            response.setCategory("Dresses");
+        } else if (lowerName.contains("jacket") || lowerName.contains("coat") || lowerName.contains("blazer") || 
+                   lowerName.contains("cardigan") || lowerName.contains("vest")) {
+            response.setCategory("Outerwear");
+        } else if (lowerName.contains("shoe") || lowerName.contains("sneaker") || lowerName.contains("boot") || 
+                   lowerName.contains("sandal") || lowerName.contains("loafer") || lowerName.contains("heel")) {
+            response.setCategory("Shoes");
+        } else {
+            response.setCategory("Accessories");
+        }
+        
+        // Improved color detection
+        String[] colors = {"white", "black", "blue", "red", "green", "yellow", "brown", "gray", "grey", "pink", "purple", "navy", "beige", "tan", "cream"};
+        String detectedColor = "Black"; // Default color
+        for (String color : colors) {
+            if (lowerName.contains(color)) {
+                detectedColor = color.substring(0, 1).toUpperCase() + color.substring(1);
+                if (detectedColor.equals("Grey")) detectedColor = "Gray";
+                break;
+            }
+        }
+        response.setColor(detectedColor);
+        
+        // Improved seasons based on category and item type
+        if (response.getCategory().equals("Outerwear") || lowerName.contains("coat") || lowerName.contains("jacket")) {
+            if (lowerName.contains("winter") || lowerName.contains("wool") || lowerName.contains("heavy")) {
+                response.setSeasons(Arrays.asList("Winter"));
+            } else {
+                response.setSeasons(Arrays.asList("Autumn", "Winter"));
+            }
+        } else if (lowerName.contains("shorts") || lowerName.contains("tank") || lowerName.contains("sundress") || 
+                   lowerName.contains("sandal") || lowerName.contains("summer")) {
+            response.setSeasons(Arrays.asList("Summer"));
+        } else if (lowerName.contains("sweater") || lowerName.contains("wool") || lowerName.contains("winter")) {
+            response.setSeasons(Arrays.asList("Winter"));
+        } else if (lowerName.contains("light") || lowerName.contains("spring")) {
+            response.setSeasons(Arrays.asList("Spring", "Summer"));
+        } else {
+            response.setSeasons(Arrays.asList("All"));
+        }
+        
+        response.setName(itemName);
+        response.setDataAiHint(detectedColor.toLowerCase() + " " + itemName.toLowerCase());
+        
+        return response;
+    }
+}
@@ -0,0 +1,87 @@
+package com.styleai.benchmark;
+
+import com.styleai.dto.AIAnalysisResponse;
+import com.styleai.service.GeminiAIService;
+import com.styleai.service.KeywordClassifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword classification of item names, the text analysis fallback used
+ * when no Gemini key is configured or the call fails: the compiled
+ * KeywordClassifier against the contains() chain it replaced. The single
+ * name case goes through analyzeTextForClothing without an API key, so it
+ * includes the Mono and the fallback counter the controller path pays for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextClassificationBenchmark {
+
+    static final String[] ITEM_NAMES = {
+        "White Cotton T-Shirt",
+        "Slim Fit Blue Jeans",
+        "Navy Wool Winter Coat",
+        "Floral Summer Sundress",
+        "Brown Leather Ankle Boots",
+        "Silk Scarf",
+        "Light Grey Spring Cardigan",
+        "Black Tank Top",
+        "Beige Linen Trousers",
+        "Red Knit Sweater With Contrast Trim"
+    };
+
+    private GeminiAIService geminiAIService;
+    private KeywordClassifier keywordClassifier;
+    private List<String> itemNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keywordClassifier = new KeywordClassifier();
+        BenchmarkFixtures.setField(keywordClassifier, "dictionaryResource", new ClassPathResource("clothing-keywords.json"));
+        keywordClassifier.load();
+        // The keyword classifier touches none of the HTTP, cache or parsing collaborators
+        geminiAIService = new GeminiAIService(null, null, null, new SimpleMeterRegistry(), keywordClassifier, null);
+        itemNames = Arrays.asList(ITEM_NAMES);
+    }
+
+    @Benchmark
+    public void legacyChain(Blackhole blackhole) {
+        for (String name : ITEM_NAMES) {
+            AIAnalysisResponse response = LegacyKeywordChain.classify(name);
+            blackhole.consume(response);
+        }
+    }
+
+    @Benchmark
+    public void keywordClassifier(Blackhole blackhole) {
+        for (String name : ITEM_NAMES) {
+            AIAnalysisResponse response = geminiAIService.analyzeTextForClothing(name).block();
+            blackhole.consume(response);
+        }
+    }
+
+    @Benchmark
+    public List<KeywordClassifier.Classification> keywordClassifierBatch() {
+        return keywordClassifier.classifyAll(itemNames);
+    }
+}
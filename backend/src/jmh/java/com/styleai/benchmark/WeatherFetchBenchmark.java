@@ -0,0 +1,124 @@
+package com.styleai.benchmark;
+
+import com.styleai.service.WeatherService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test for the bounded weather fetch pool on platform versus virtual threads.
+ * 200 concurrent callers look up a new location each time, so every call goes
+ * to a local stub upstream that answers after upstreamLatencyMs. Throughput and
+ * sampled latency (including p99) are reported for each combination. The queue
+ * holds every caller the pool cannot serve, so nothing is rejected.
+ *
+ * virtualThreads=true needs a Java 21 JVM; on Java 17 the trial fails at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(200)
+@Fork(1)
+public class WeatherFetchBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"64", "200"})
+    public int fetchThreads;
+
+    @Param({"256"})
+    public int fetchQueueCapacity;
+
+    @Param({"50"})
+    public int upstreamLatencyMs;
+
+    private final AtomicLong locations = new AtomicLong();
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+    private WeatherService weatherService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] body = ("{\"name\":\"Paris\",\"main\":{\"temp\":18.5,\"humidity\":60},\"wind\":{\"speed\":3.1},"
+                + "\"weather\":[{\"main\":\"Clouds\",\"description\":\"broken clouds\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+        upstreamExecutor = Executors.newCachedThreadPool();
+        upstream = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        upstream.setExecutor(upstreamExecutor);
+        upstream.createContext("/weather", exchange -> {
+            try {
+                Thread.sleep(upstreamLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+
+        weatherService = new WeatherService();
+        BenchmarkFixtures.setField(weatherService, "weatherApiKey", "benchmark-key");
+        BenchmarkFixtures.setField(weatherService, "weatherBaseUrl",
+                "http://" + upstream.getAddress().getHostString() + ":" + upstream.getAddress().getPort());
+        BenchmarkFixtures.setField(weatherService, "cacheTtl", Duration.ofMinutes(10));
+        BenchmarkFixtures.setField(weatherService, "cacheMaxSize", 10_000L);
+        BenchmarkFixtures.setField(weatherService, "connectTimeout", Duration.ofSeconds(3));
+        BenchmarkFixtures.setField(weatherService, "readTimeout", Duration.ofSeconds(10));
+        BenchmarkFixtures.setField(weatherService, "virtualThreads", virtualThreads);
+        BenchmarkFixtures.setField(weatherService, "fetchThreads", fetchThreads);
+        BenchmarkFixtures.setField(weatherService, "fetchQueueCapacity", fetchQueueCapacity);
+        BenchmarkFixtures.setField(weatherService, "restTemplateBuilder", new RestTemplateBuilder());
+        BenchmarkFixtures.setField(weatherService, "meterRegistry", new SimpleMeterRegistry());
+        weatherService.initCache();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        weatherService.stopPool();
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public Map<String, Object> uncachedLookup() {
+        Map<String, Object> weather = weatherService.getCurrentWeather("City " + locations.incrementAndGet(), "FR");
+        // Failed calls fall back to mock data, which would flatter the numbers
+        if (!"Paris".equals(weather.get("city"))) {
+            throw new IllegalStateException("Upstream call failed");
+        }
+        return weather;
+    }
+}
@@ -0,0 +1,65 @@
+package com.styleai.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.styleai.dto.WeatherBasedOutfitRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of a weather-based suggestion request that ships the closet,
+ * as the frontend sends it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeatherRequestJsonBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int closetSize;
+
+    private ObjectMapper objectMapper;
+    private WeatherBasedOutfitRequest request;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        request = new WeatherBasedOutfitRequest();
+        request.setClosetItems(BenchmarkFixtures.closetItems(closetSize, 42L));
+        request.setOccasion("Work");
+        request.setTimesOfDay(List.of("Morning"));
+        request.setCity("Paris");
+        request.setCountry("FR");
+        json = objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public WeatherBasedOutfitRequest deserialize() throws Exception {
+        return objectMapper.readValue(json, WeatherBasedOutfitRequest.class);
+    }
+}
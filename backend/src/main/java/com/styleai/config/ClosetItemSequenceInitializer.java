@@ -0,0 +1,69 @@
+package com.styleai.config;
+
+import com.styleai.entity.ClosetItem;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves closet_items_seq past the ids already in closet_items.
+ * Closet items used to take IDENTITY ids; on a database created back then,
+ * ddl-auto creates the sequence starting at 1 and new items would collide
+ * with existing rows. This runs once all singletons exist, before the web
+ * server starts taking requests, and does nothing when the sequence is
+ * already ahead. The highest row is locked first so instances starting
+ * together line up instead of restarting the sequence twice.
+ */
+@Component
+public class ClosetItemSequenceInitializer implements SmartInitializingSingleton {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        alignSequence();
+    }
+
+    /**
+     * Returns true if the sequence had to be moved.
+     */
+    public boolean alignSequence() {
+        Boolean moved = new TransactionTemplate(transactionManager).execute(status -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM closet_items", Long.class);
+            if (maxId == null) {
+                return false;
+            }
+            jdbcTemplate.queryForList("SELECT id FROM closet_items WHERE id = ? FOR UPDATE", Long.class, maxId);
+
+            // With the pooled optimizer a sequence value v hands out ids v - allocationSize + 1 .. v
+            long next = jdbcTemplate.queryForObject(nextValueSql(), Long.class);
+            if (next - ClosetItem.ID_ALLOCATION_SIZE >= maxId) {
+                return false;
+            }
+            jdbcTemplate.execute("ALTER SEQUENCE " + ClosetItem.ID_SEQUENCE
+                    + " RESTART WITH " + (maxId + ClosetItem.ID_ALLOCATION_SIZE));
+            return true;
+        });
+        return Boolean.TRUE.equals(moved);
+    }
+
+    private String nextValueSql() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(ClosetItem.ID_SEQUENCE);
+    }
+}
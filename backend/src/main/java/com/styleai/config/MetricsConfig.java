@@ -0,0 +1,21 @@
+package com.styleai.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics wiring
+ * Controllers (http.server.requests), repositories (spring.data.repository.invocations)
+ * and outbound HTTP clients (http.client.requests) are timed by Spring Boot itself;
+ * this adds timers for service classes annotated with @Timed
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
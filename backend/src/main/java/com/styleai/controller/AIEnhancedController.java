@@ -1,15 +1,31 @@
 package com.styleai.controller;
 
 import com.styleai.dto.AIAnalysisResponse;
+import com.styleai.dto.AIBatchAnalysisResultDTO;
+import com.styleai.dto.AIBatchImageAnalysisRequest;
 import com.styleai.dto.AIImageAnalysisRequest;
 import com.styleai.dto.AIImageGenerationResponse;
+import com.styleai.dto.AITextClassificationRequest;
 import com.styleai.dto.AITextToImageRequest;
 import com.styleai.service.GeminiAIService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AI analysis endpoints
+ * Handlers return Mono so Tomcat worker threads are released while Gemini responds
+ * Batch endpoints stream one NDJSON line per distinct input as soon as it is analyzed
+ */
 @RestController
 @RequestMapping("/ai-enhanced")
 @CrossOrigin(origins = {"http://localhost:9002", "http://localhost:3000"})
@@ -19,32 +35,82 @@ public class AIEnhancedController {
     private GeminiAIService geminiAIService;
 
     @PostMapping("/analyze-clothing-image")
-    public ResponseEntity<AIAnalysisResponse> analyzeClothingImage(@Valid @RequestBody AIImageAnalysisRequest request) {
+    public Mono<ResponseEntity<AIAnalysisResponse>> analyzeClothingImage(@Valid @RequestBody AIImageAnalysisRequest request) {
+        return geminiAIService.analyzeClothingImage(request)
+                .map(response -> ResponseEntity.ok(response))
+                .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError().<AIAnalysisResponse>build()));
+    }
+
+    @PostMapping(value = "/analyze-clothing-image/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<AIAnalysisResponse>> analyzeUploadedClothingImage(@RequestPart("image") MultipartFile image) throws IOException {
+        if (image.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().<AIAnalysisResponse>build());
+        }
+        return geminiAIService.analyzeClothingImage(image.getInputStream())
+                .map(response -> ResponseEntity.ok(response))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().<AIAnalysisResponse>build()))
+                .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError().<AIAnalysisResponse>build()));
+    }
+
+    @PostMapping(value = "/analyze-clothing-image/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<AIBatchAnalysisResultDTO>> analyzeClothingImages(@Valid @RequestBody AIBatchImageAnalysisRequest request) {
         try {
-            AIAnalysisResponse response = geminiAIService.analyzeClothingImage(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.ok(geminiAIService.analyzeClothingImages(request.getImagesBase64()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
-    @PostMapping("/generate-clothing-image")
-    public ResponseEntity<AIImageGenerationResponse> generateClothingImage(@Valid @RequestBody AITextToImageRequest request) {
+    @PostMapping(value = "/analyze-clothing-image/upload/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<AIBatchAnalysisResultDTO>> analyzeUploadedClothingImages(@RequestPart("images") List<MultipartFile> images) throws IOException {
+        if (images.isEmpty() || images.stream().anyMatch(MultipartFile::isEmpty)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<byte[]> imageBytes = new ArrayList<>(images.size());
+        for (MultipartFile image : images) {
+            imageBytes.add(image.getBytes());
+        }
         try {
-            AIImageGenerationResponse response = geminiAIService.generateClothingImage(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.ok(geminiAIService.analyzeClothingImageUploads(imageBytes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
+    @PostMapping("/generate-clothing-image")
+    public Mono<ResponseEntity<AIImageGenerationResponse>> generateClothingImage(@Valid @RequestBody AITextToImageRequest request) {
+        return geminiAIService.generateClothingImage(request)
+                .map(response -> ResponseEntity.ok(response))
+                .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError().<AIImageGenerationResponse>build()));
+    }
+
     @PostMapping("/analyze-text")
-    public ResponseEntity<AIAnalysisResponse> analyzeTextForClothing(@RequestParam String itemName) {
+    public Mono<ResponseEntity<AIAnalysisResponse>> analyzeTextForClothing(@RequestParam String itemName) {
+        return geminiAIService.analyzeTextForClothing(itemName)
+                .map(response -> ResponseEntity.ok(response))
+                .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError().<AIAnalysisResponse>build()));
+    }
+
+    @PostMapping(value = "/analyze-text/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<AIBatchAnalysisResultDTO>> analyzeTextsForClothing(@Valid @RequestBody AITextClassificationRequest request) {
+        try {
+            return ResponseEntity.ok(geminiAIService.analyzeTextsForClothing(request.getItemNames()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Keyword classification of many item names in one call; never calls Gemini
+     */
+    @PostMapping("/classify-text/batch")
+    public ResponseEntity<List<AIAnalysisResponse>> classifyItemNames(@Valid @RequestBody AITextClassificationRequest request) {
         try {
-            AIAnalysisResponse response = geminiAIService.analyzeTextForClothing(itemName);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.ok(geminiAIService.classifyItemNames(request.getItemNames()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 }
\ No newline at end of file
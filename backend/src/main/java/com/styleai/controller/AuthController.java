@@ -3,13 +3,22 @@ package com.styleai.controller;
 import com.styleai.dto.AuthRequest;
 import com.styleai.dto.AuthResponse;
 import com.styleai.dto.SignUpRequest;
+import com.styleai.dto.UserDTO;
+import com.styleai.service.PasswordHashingExecutor;
 import com.styleai.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Authentication Controller
  * Handles user registration and login endpoints
@@ -22,67 +31,90 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PasswordHashingExecutor hashingExecutor;
+
     /**
      * User registration endpoint
+     * Password hashing runs on the bounded hashing pool; 429 when it is saturated
      * 
      * @param signUpRequest User registration data
      * @return AuthResponse with JWT token and user details
      */
     @PostMapping("/signup")
-    public ResponseEntity<AuthResponse> signUp(@Valid @RequestBody SignUpRequest signUpRequest) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> signUp(@Valid @RequestBody SignUpRequest signUpRequest) {
         try {
-            AuthResponse response = userService.signUp(signUpRequest);
-            
-            // Ensure response is not null and has required fields
-            if (response == null || response.getToken() == null || response.getEmail() == null) {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            }
-            
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (RuntimeException e) {
-            // Log the error for debugging
-            System.err.println("Signup error: " + e.getMessage());
-            e.printStackTrace();
-            
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-        } catch (Exception e) {
-            // Log unexpected errors
-            System.err.println("Unexpected signup error: " + e.getMessage());
-            e.printStackTrace();
-            
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            return hashingExecutor.submit(() -> userService.signUp(signUpRequest))
+                    .handle((response, error) -> toResponse(response, error, HttpStatus.CREATED, HttpStatus.BAD_REQUEST, "Signup"));
+        } catch (RejectedExecutionException e) {
+            System.err.println("Signup rejected: hashing pool is saturated");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
         }
     }
 
     /**
      * User login endpoint
+     * Password verification runs on the bounded hashing pool; 429 when it is saturated
      * 
      * @param authRequest User login credentials
      * @return AuthResponse with JWT token and user details
      */
     @PostMapping("/signin")
-    public ResponseEntity<AuthResponse> signIn(@Valid @RequestBody AuthRequest authRequest) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> signIn(@Valid @RequestBody AuthRequest authRequest) {
         try {
-            AuthResponse response = userService.signIn(authRequest);
-            
-            // Ensure response is not null and has required fields
-            if (response == null || response.getToken() == null || response.getEmail() == null) {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            }
-            
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            // Log the error for debugging
-            System.err.println("Signin error: " + e.getMessage());
-            e.printStackTrace();
-            
+            return hashingExecutor.submit(() -> userService.signIn(authRequest))
+                    .handle((response, error) -> toResponse(response, error, HttpStatus.OK, HttpStatus.UNAUTHORIZED, "Signin"));
+        } catch (RejectedExecutionException e) {
+            System.err.println("Signin rejected: hashing pool is saturated");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
+        }
+    }
+
+    /**
+     * Current user endpoint
+     * With auth.principal-mode=stateless the user is found by the id in the token
+     *
+     * @param authentication The authenticated caller
+     * @return The signed-in user's details
+     */
+    @GetMapping("/me")
+    public ResponseEntity<UserDTO> me(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        } catch (Exception e) {
+        }
+        try {
+            return ResponseEntity.ok(userService.getSignedInUser(authentication.getPrincipal()));
+        } catch (UsernameNotFoundException e) {
+            // The token outlived its user
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    private ResponseEntity<AuthResponse> toResponse(AuthResponse response, Throwable error,
+                                                    HttpStatus successStatus, HttpStatus failureStatus,
+                                                    String operation) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (cause instanceof RuntimeException) {
+                // Log the error for debugging
+                System.err.println(operation + " error: " + cause.getMessage());
+                cause.printStackTrace();
+                return ResponseEntity.status(failureStatus).build();
+            }
             // Log unexpected errors
-            System.err.println("Unexpected signin error: " + e.getMessage());
-            e.printStackTrace();
-            
+            System.err.println("Unexpected " + operation.toLowerCase() + " error: " + cause.getMessage());
+            cause.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+
+        // Ensure response is not null and has required fields
+        if (response == null || response.getToken() == null || response.getEmail() == null) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+
+        return ResponseEntity.status(successStatus).body(response);
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,25 @@
 package com.styleai.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.styleai.dto.ClosetItemBulkResultDTO;
 import com.styleai.dto.ClosetItemDTO;
+import com.styleai.dto.ClosetItemPageDTO;
+import com.styleai.dto.ClosetStatsDTO;
 import com.styleai.service.ClosetItemService;
+import com.styleai.service.ClosetStatsService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -16,9 +28,17 @@ import java.util.Map;
 @CrossOrigin(origins = {"http://localhost:9002", "http://localhost:3000"})
 public class ClosetItemController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     @Autowired
     private ClosetItemService closetItemService;
 
+    @Autowired
+    private ClosetStatsService closetStatsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     public ResponseEntity<List<ClosetItemDTO>> getAllItems(
             @RequestParam(required = false) String category,
@@ -34,6 +54,35 @@ public class ClosetItemController {
         return ResponseEntity.ok(items);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ClosetItemPageDTO> getItemsPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(closetItemService.getItemsPage(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllItems() {
+        ObjectWriter writer = objectMapper.writerFor(ClosetItemDTO.class);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 16 * 1024);
+            try {
+                closetItemService.streamAllItems(item -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(item));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ClosetItemDTO> getItemById(@PathVariable Long id) {
         return closetItemService.getItemById(id)
@@ -47,6 +96,21 @@ public class ClosetItemController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdItem);
     }
 
+    /**
+     * Imports up to closet.bulk.max-items items; per-item failures are listed in the result.
+     * A request over the limit saves nothing and reports the first item past it.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ClosetItemBulkResultDTO> createItems(@RequestBody List<ClosetItemDTO> itemDTOs) {
+        try {
+            return ResponseEntity.ok(closetItemService.createItems(itemDTOs));
+        } catch (IllegalArgumentException e) {
+            ClosetItemBulkResultDTO result = new ClosetItemBulkResultDTO();
+            result.getErrors().add(new ClosetItemBulkResultDTO.ItemError(closetItemService.getBulkMaxItems(), e.getMessage()));
+            return ResponseEntity.badRequest().body(result);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ClosetItemDTO> updateItem(@PathVariable Long id, @Valid @RequestBody ClosetItemDTO itemDTO) {
         return closetItemService.updateItem(id, itemDTO)
@@ -77,23 +141,30 @@ public class ClosetItemController {
         return ResponseEntity.ok(closetItemService.getDistinctSeasons());
     }
 
+    /**
+     * Summed from the closet_stat_counters shards, which item writes keep up to date
+     */
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getStats() {
-        List<ClosetItemDTO> allItems = closetItemService.getAllItems();
-        
-        Map<String, Long> categoryCount = allItems.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                    ClosetItemDTO::getCategory,
-                    java.util.stream.Collectors.counting()
-                ));
+        ClosetStatsDTO closetStats = closetStatsService.getStats();
 
         Map<String, Object> stats = Map.of(
-            "totalItems", allItems.size(),
-            "categoryCount", categoryCount.entrySet().stream()
-                .map(entry -> Map.of("name", entry.getKey(), "count", entry.getValue()))
-                .collect(java.util.stream.Collectors.toList())
+            "totalItems", closetStats.getTotalItems(),
+            "neverWornCount", closetStats.getNeverWornCount(),
+            "categoryCount", toNameCountList(closetStats.getCategoryCounts()),
+            "colorCount", toNameCountList(closetStats.getColorCounts()),
+            "seasonCount", toNameCountList(closetStats.getSeasonCounts())
         );
 
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+
+    private List<Map<String, Object>> toNameCountList(Map<String, Integer> counts) {
+        if (counts == null) {
+            return List.of();
+        }
+        return counts.entrySet().stream()
+                .map(entry -> Map.<String, Object>of("name", entry.getKey(), "count", entry.getValue()))
+                .collect(java.util.stream.Collectors.toList());
+    }
+}
@@ -1,15 +1,19 @@
 package com.styleai.controller;
 
+import com.styleai.dto.CalendarDTO;
 import com.styleai.dto.PlannedEventDTO;
 import com.styleai.service.PlannedEventService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @RestController
@@ -17,6 +21,8 @@ import java.util.List;
 @CrossOrigin(origins = {"http://localhost:9002", "http://localhost:3000"})
 public class PlannedEventController {
 
+    private static final int MAX_CALENDAR_DAYS = 93;
+
     @Autowired
     private PlannedEventService plannedEventService;
 
@@ -37,6 +43,33 @@ public class PlannedEventController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * Events, outfits and items for a month (?month=2024-05) or a date range of up to three months
+     * Answers 304 when If-None-Match carries the current ETag
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<CalendarDTO> getCalendar(
+            @RequestParam(required = false) YearMonth month,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        if (month != null) {
+            startDate = month.atDay(1);
+            endDate = month.atEndOfMonth();
+        }
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)
+                || ChronoUnit.DAYS.between(startDate, endDate) >= MAX_CALENDAR_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        PlannedEventService.CalendarView view = plannedEventService.getCalendar(startDate, endDate);
+        // The ETag check happens when the response is written, so a match is sent as 304 without a body
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(view.etag())
+                .body(view.calendar());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PlannedEventDTO> getEventById(@PathVariable Long id) {
         return plannedEventService.getEventById(id)
@@ -57,6 +90,13 @@ public class PlannedEventController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<PlannedEventDTO> completeEvent(@PathVariable Long id) {
+        return plannedEventService.completeEvent(id)
+                .map(event -> ResponseEntity.ok(event))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEvent(@PathVariable Long id) {
         if (plannedEventService.deleteEvent(id)) {
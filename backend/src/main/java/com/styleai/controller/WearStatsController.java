@@ -0,0 +1,42 @@
+package com.styleai.controller;
+
+import com.styleai.dto.WearHistogramDTO;
+import com.styleai.entity.WearRollup;
+import com.styleai.service.WearLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/wear-stats")
+@CrossOrigin(origins = {"http://localhost:9002", "http://localhost:3000"})
+public class WearStatsController {
+
+    @Autowired
+    private WearLogService wearLogService;
+
+    /**
+     * Wear histogram read from the daily/weekly rollups
+     * granularity is "day" or "week"; groupBy is "item" (default) or "category"
+     */
+    @GetMapping("/histogram")
+    public ResponseEntity<WearHistogramDTO> getHistogram(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String granularity,
+            @RequestParam(required = false, defaultValue = "item") String groupBy,
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(required = false) String category) {
+        try {
+            WearRollup.Granularity bucketSize = granularity == null
+                    ? null
+                    : WearRollup.Granularity.valueOf(granularity.toUpperCase());
+            return ResponseEntity.ok(wearLogService.getHistogram(startDate, endDate, bucketSize, groupBy, itemId, category));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
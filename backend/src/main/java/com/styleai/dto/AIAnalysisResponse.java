@@ -6,6 +6,7 @@ public class AIAnalysisResponse {
     private String name;
     private String category;
     private String color;
+    private String material;
     private List<String> seasons;
     private String dataAiHint;
 
@@ -22,6 +23,9 @@ public class AIAnalysisResponse {
     public String getColor() { return color; }
     public void setColor(String color) { this.color = color; }
 
+    public String getMaterial() { return material; }
+    public void setMaterial(String material) { this.material = material; }
+
     public List<String> getSeasons() { return seasons; }
     public void setSeasons(List<String> seasons) { this.seasons = seasons; }
 
@@ -0,0 +1,41 @@
+package com.styleai.dto;
+
+import java.util.List;
+
+/**
+ * One streamed result of a batch analysis. Identical inputs are analyzed once,
+ * so a result answers every request position listed in indexes.
+ * fallback is set when mock data stands in for Gemini (fallbackReason says why);
+ * error is set, and analysis is null, when the input itself was unusable.
+ */
+public class AIBatchAnalysisResultDTO {
+    private List<Integer> indexes;
+    private AIAnalysisResponse analysis;
+    private boolean fallback;
+    private String fallbackReason;
+    private String error;
+
+    // Constructors
+    public AIBatchAnalysisResultDTO() {}
+
+    public AIBatchAnalysisResultDTO(List<Integer> indexes, AIAnalysisResponse analysis) {
+        this.indexes = indexes;
+        this.analysis = analysis;
+    }
+
+    // Getters and Setters
+    public List<Integer> getIndexes() { return indexes; }
+    public void setIndexes(List<Integer> indexes) { this.indexes = indexes; }
+
+    public AIAnalysisResponse getAnalysis() { return analysis; }
+    public void setAnalysis(AIAnalysisResponse analysis) { this.analysis = analysis; }
+
+    public boolean isFallback() { return fallback; }
+    public void setFallback(boolean fallback) { this.fallback = fallback; }
+
+    public String getFallbackReason() { return fallbackReason; }
+    public void setFallbackReason(String fallbackReason) { this.fallbackReason = fallbackReason; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
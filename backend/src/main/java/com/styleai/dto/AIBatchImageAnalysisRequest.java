@@ -0,0 +1,21 @@
+package com.styleai.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class AIBatchImageAnalysisRequest {
+    @NotEmpty(message = "At least one image is required")
+    private List<String> imagesBase64;
+
+    // Constructors
+    public AIBatchImageAnalysisRequest() {}
+
+    public AIBatchImageAnalysisRequest(List<String> imagesBase64) {
+        this.imagesBase64 = imagesBase64;
+    }
+
+    // Getters and Setters
+    public List<String> getImagesBase64() { return imagesBase64; }
+    public void setImagesBase64(List<String> imagesBase64) { this.imagesBase64 = imagesBase64; }
+}
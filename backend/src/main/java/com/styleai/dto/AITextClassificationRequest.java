@@ -0,0 +1,21 @@
+package com.styleai.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class AITextClassificationRequest {
+    @NotEmpty(message = "At least one item name is required")
+    private List<String> itemNames;
+
+    // Constructors
+    public AITextClassificationRequest() {}
+
+    public AITextClassificationRequest(List<String> itemNames) {
+        this.itemNames = itemNames;
+    }
+
+    // Getters and Setters
+    public List<String> getItemNames() { return itemNames; }
+    public void setItemNames(List<String> itemNames) { this.itemNames = itemNames; }
+}
@@ -0,0 +1,35 @@
+package com.styleai.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Everything needed to render a calendar range: the events, the outfits
+ * they reference and the closet items in those outfits, each listed once.
+ */
+public class CalendarDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<PlannedEventDTO> events;
+    private List<OutfitDTO> outfits;
+    private List<ClosetItemDTO> items;
+
+    // Constructors
+    public CalendarDTO() {}
+
+    // Getters and Setters
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public List<PlannedEventDTO> getEvents() { return events; }
+    public void setEvents(List<PlannedEventDTO> events) { this.events = events; }
+
+    public List<OutfitDTO> getOutfits() { return outfits; }
+    public void setOutfits(List<OutfitDTO> outfits) { this.outfits = outfits; }
+
+    public List<ClosetItemDTO> getItems() { return items; }
+    public void setItems(List<ClosetItemDTO> items) { this.items = items; }
+}
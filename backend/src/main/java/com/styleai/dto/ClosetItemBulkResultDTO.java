@@ -0,0 +1,47 @@
+package com.styleai.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Items that were saved are returned in request
+ * order; every rejected item is reported with its index in the request.
+ */
+public class ClosetItemBulkResultDTO {
+    private List<ClosetItemDTO> created = new ArrayList<>();
+    private List<ItemError> errors = new ArrayList<>();
+
+    public static class ItemError {
+        private int index;
+        private String message;
+
+        // Constructors
+        public ItemError() {}
+
+        public ItemError(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    // Constructors
+    public ClosetItemBulkResultDTO() {}
+
+    // Getters and Setters
+    public List<ClosetItemDTO> getCreated() { return created; }
+    public void setCreated(List<ClosetItemDTO> created) { this.created = created; }
+
+    public List<ItemError> getErrors() { return errors; }
+    public void setErrors(List<ItemError> errors) { this.errors = errors; }
+
+    public int getCreatedCount() { return created.size(); }
+
+    public int getErrorCount() { return errors.size(); }
+}
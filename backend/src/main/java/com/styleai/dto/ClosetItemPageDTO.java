@@ -0,0 +1,32 @@
+package com.styleai.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of closet items.
+ * Pass nextCursor back as the "after" parameter to fetch the following page.
+ */
+public class ClosetItemPageDTO {
+    private List<ClosetItemDTO> items;
+    private Long nextCursor;
+    private boolean hasMore;
+
+    // Constructors
+    public ClosetItemPageDTO() {}
+
+    public ClosetItemPageDTO(List<ClosetItemDTO> items, Long nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<ClosetItemDTO> getItems() { return items; }
+    public void setItems(List<ClosetItemDTO> items) { this.items = items; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
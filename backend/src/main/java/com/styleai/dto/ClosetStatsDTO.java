@@ -0,0 +1,35 @@
+package com.styleai.dto;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Closet counts summed from the closet_stat_counters shards.
+ * The maps only list values that are in the closet.
+ */
+public class ClosetStatsDTO {
+    private long totalItems;
+    private long neverWornCount;
+    private Map<String, Integer> categoryCounts = new TreeMap<>();
+    private Map<String, Integer> colorCounts = new TreeMap<>();
+    private Map<String, Integer> seasonCounts = new TreeMap<>();
+
+    // Constructors
+    public ClosetStatsDTO() {}
+
+    // Getters and Setters
+    public long getTotalItems() { return totalItems; }
+    public void setTotalItems(long totalItems) { this.totalItems = totalItems; }
+
+    public long getNeverWornCount() { return neverWornCount; }
+    public void setNeverWornCount(long neverWornCount) { this.neverWornCount = neverWornCount; }
+
+    public Map<String, Integer> getCategoryCounts() { return categoryCounts; }
+    public void setCategoryCounts(Map<String, Integer> categoryCounts) { this.categoryCounts = categoryCounts; }
+
+    public Map<String, Integer> getColorCounts() { return colorCounts; }
+    public void setColorCounts(Map<String, Integer> colorCounts) { this.colorCounts = colorCounts; }
+
+    public Map<String, Integer> getSeasonCounts() { return seasonCounts; }
+    public void setSeasonCounts(Map<String, Integer> seasonCounts) { this.seasonCounts = seasonCounts; }
+}
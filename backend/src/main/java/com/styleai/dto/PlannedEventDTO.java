@@ -3,6 +3,7 @@ package com.styleai.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class PlannedEventDTO {
@@ -19,6 +20,8 @@ public class PlannedEventDTO {
 
     private List<String> timesOfDay;
 
+    private LocalDateTime completedAt;
+
     // Constructors
     public PlannedEventDTO() {}
 
@@ -37,4 +40,7 @@ public class PlannedEventDTO {
 
     public List<String> getTimesOfDay() { return timesOfDay; }
     public void setTimesOfDay(List<String> timesOfDay) { this.timesOfDay = timesOfDay; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
 }
\ No newline at end of file
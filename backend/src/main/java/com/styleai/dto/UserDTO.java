@@ -0,0 +1,39 @@
+package com.styleai.dto;
+
+/**
+ * The signed-in user's account details, without credentials
+ */
+public class UserDTO {
+    private Long id;
+    private String name;
+    private String email;
+    private String avatarUrl;
+    private String stylePreferences;
+    private String country;
+    private String city;
+
+    // Constructors
+    public UserDTO() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getAvatarUrl() { return avatarUrl; }
+    public void setAvatarUrl(String avatarUrl) { this.avatarUrl = avatarUrl; }
+
+    public String getStylePreferences() { return stylePreferences; }
+    public void setStylePreferences(String stylePreferences) { this.stylePreferences = stylePreferences; }
+
+    public String getCountry() { return country; }
+    public void setCountry(String country) { this.country = country; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+}
@@ -0,0 +1,79 @@
+package com.styleai.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wear counts per bucket for each item or category in a date range.
+ * Week buckets are keyed by their Monday; edge weeks only count the days inside the range.
+ */
+public class WearHistogramDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String granularity;
+    private String groupBy;
+    private List<Series> series = new ArrayList<>();
+
+    public static class Series {
+        private String key;
+        private long total;
+        private List<Bucket> buckets = new ArrayList<>();
+
+        // Constructors
+        public Series() {}
+
+        public Series(String key) {
+            this.key = key;
+        }
+
+        // Getters and Setters
+        public String getKey() { return key; }
+        public void setKey(String key) { this.key = key; }
+
+        public long getTotal() { return total; }
+        public void setTotal(long total) { this.total = total; }
+
+        public List<Bucket> getBuckets() { return buckets; }
+        public void setBuckets(List<Bucket> buckets) { this.buckets = buckets; }
+    }
+
+    public static class Bucket {
+        private LocalDate bucketStart;
+        private long count;
+
+        // Constructors
+        public Bucket() {}
+
+        public Bucket(LocalDate bucketStart, long count) {
+            this.bucketStart = bucketStart;
+            this.count = count;
+        }
+
+        // Getters and Setters
+        public LocalDate getBucketStart() { return bucketStart; }
+        public void setBucketStart(LocalDate bucketStart) { this.bucketStart = bucketStart; }
+
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+    }
+
+    // Constructors
+    public WearHistogramDTO() {}
+
+    // Getters and Setters
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public String getGranularity() { return granularity; }
+    public void setGranularity(String granularity) { this.granularity = granularity; }
+
+    public String getGroupBy() { return groupBy; }
+    public void setGroupBy(String groupBy) { this.groupBy = groupBy; }
+
+    public List<Series> getSeries() { return series; }
+    public void setSeries(List<Series> series) { this.series = series; }
+}
@@ -3,7 +3,11 @@ package com.styleai.dto;
 import java.util.List;
 
 public class WeatherBasedOutfitRequest {
+    // Optional: when omitted the closet is resolved server-side, narrowed by the filters below
     private List<ClosetItemDTO> closetItems;
+    private String category;
+    private String color;
+    private String season;
     private String occasion;
     private List<String> timesOfDay;
     private String userPreferences;
@@ -17,6 +21,15 @@ public class WeatherBasedOutfitRequest {
     public List<ClosetItemDTO> getClosetItems() { return closetItems; }
     public void setClosetItems(List<ClosetItemDTO> closetItems) { this.closetItems = closetItems; }
 
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getColor() { return color; }
+    public void setColor(String color) { this.color = color; }
+
+    public String getSeason() { return season; }
+    public void setSeason(String season) { this.season = season; }
+
     public String getOccasion() { return occasion; }
     public void setOccasion(String occasion) { this.occasion = occasion; }
 
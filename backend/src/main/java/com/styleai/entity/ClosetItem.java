@@ -3,6 +3,7 @@ package com.styleai.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,8 +11,13 @@ import java.util.List;
 @Entity
 @Table(name = "closet_items")
 public class ClosetItem {
+    public static final String ID_SEQUENCE = "closet_items_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Sequence ids with a pooled optimizer let Hibernate batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -26,7 +32,9 @@ public class ClosetItem {
     @Column(nullable = false)
     private String color;
 
+    // Batch-loaded so paged and streamed reads fetch seasons for many items per query
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "item_seasons", joinColumns = @JoinColumn(name = "item_id"))
     @Column(name = "season")
     private List<String> seasons;
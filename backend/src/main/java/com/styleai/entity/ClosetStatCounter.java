@@ -0,0 +1,64 @@
+package com.styleai.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One shard of one closet count. TOTAL and NEVER_WORN use an empty key;
+ * CATEGORY, COLOR and SEASON are keyed by the value they count.
+ *
+ * A count is the sum of its shards. Item writes add their deltas to one
+ * randomly chosen shard, so concurrent writes rarely touch the same row.
+ */
+@Entity
+@Table(name = "closet_stat_counters",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_closet_stat_counters",
+        columnNames = {"dimension", "stat_key", "shard"}))
+public class ClosetStatCounter {
+
+    public enum Dimension { TOTAL, NEVER_WORN, CATEGORY, COLOR, SEASON }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Dimension dimension;
+
+    @Column(name = "stat_key", nullable = false)
+    private String statKey;
+
+    @Column(nullable = false)
+    private int shard;
+
+    // May be negative in a single shard; only the sum over shards is meaningful
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    // Constructors
+    public ClosetStatCounter() {}
+
+    public ClosetStatCounter(Dimension dimension, String statKey, int shard, long itemCount) {
+        this.dimension = dimension;
+        this.statKey = statKey;
+        this.shard = shard;
+        this.itemCount = itemCount;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Dimension getDimension() { return dimension; }
+    public void setDimension(Dimension dimension) { this.dimension = dimension; }
+
+    public String getStatKey() { return statKey; }
+    public void setStatKey(String statKey) { this.statKey = statKey; }
+
+    public int getShard() { return shard; }
+    public void setShard(int shard) { this.shard = shard; }
+
+    public long getItemCount() { return itemCount; }
+    public void setItemCount(long itemCount) { this.itemCount = itemCount; }
+}
@@ -0,0 +1,68 @@
+package com.styleai.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "image_analysis_cache")
+public class ImageAnalysisCacheEntry {
+    // Hex SHA-256 of the decoded image bytes
+    @Id
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "category")
+    private String category;
+
+    @Column(name = "color")
+    private String color;
+
+    @Column(name = "material")
+    private String material;
+
+    // Comma-separated season names
+    @Column(name = "seasons")
+    private String seasons;
+
+    @Column(name = "data_ai_hint")
+    private String dataAiHint;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public ImageAnalysisCacheEntry() {}
+
+    // Getters and Setters
+    public String getImageHash() { return imageHash; }
+    public void setImageHash(String imageHash) { this.imageHash = imageHash; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getColor() { return color; }
+    public void setColor(String color) { this.color = color; }
+
+    public String getMaterial() { return material; }
+    public void setMaterial(String material) { this.material = material; }
+
+    public String getSeasons() { return seasons; }
+    public void setSeasons(String seasons) { this.seasons = seasons; }
+
+    public String getDataAiHint() { return dataAiHint; }
+    public void setDataAiHint(String dataAiHint) { this.dataAiHint = dataAiHint; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
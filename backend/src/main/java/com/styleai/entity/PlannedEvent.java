@@ -3,12 +3,18 @@ package com.styleai.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+// (date, id) serves the date and date-range lookups, including the calendar's ORDER BY;
+// outfit_id serves the lookups done when an outfit changes or is deleted
 @Entity
-@Table(name = "planned_events")
+@Table(name = "planned_events", indexes = {
+    @Index(name = "idx_planned_events_date_id", columnList = "date, id"),
+    @Index(name = "idx_planned_events_outfit_id", columnList = "outfit_id")
+})
 public class PlannedEvent {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,10 +33,16 @@ public class PlannedEvent {
     private Long outfitId;
 
     @ElementCollection
-    @CollectionTable(name = "event_times", joinColumns = @JoinColumn(name = "event_id"))
+    @BatchSize(size = 100)
+    @CollectionTable(name = "event_times", joinColumns = @JoinColumn(name = "event_id"),
+            indexes = @Index(name = "idx_event_times_event_id", columnList = "event_id"))
     @Column(name = "time_of_day")
     private List<String> timesOfDay;
 
+    // Set once the outfit has been logged as worn
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -74,6 +86,9 @@ public class PlannedEvent {
     public List<String> getTimesOfDay() { return timesOfDay; }
     public void setTimesOfDay(List<String> timesOfDay) { this.timesOfDay = timesOfDay; }
 
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,70 @@
+package com.styleai.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One item worn on one day, written when a planned event is completed.
+ * Rows are only ever inserted; analytics read the rollups instead.
+ */
+@Entity
+@Table(name = "wear_events", indexes = {
+    @Index(name = "idx_wear_events_item_date", columnList = "item_id, worn_on"),
+    @Index(name = "idx_wear_events_event", columnList = "planned_event_id")
+})
+public class WearEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    // Category at the time of wear, so history is not rewritten when an item is recategorised
+    @Column(name = "category")
+    private String category;
+
+    @Column(name = "worn_on", nullable = false)
+    private LocalDate wornOn;
+
+    @Column(name = "planned_event_id")
+    private Long plannedEventId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public WearEvent() {}
+
+    public WearEvent(Long itemId, String category, LocalDate wornOn, Long plannedEventId) {
+        this.itemId = itemId;
+        this.category = category;
+        this.wornOn = wornOn;
+        this.plannedEventId = plannedEventId;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getItemId() { return itemId; }
+    public void setItemId(Long itemId) { this.itemId = itemId; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public LocalDate getWornOn() { return wornOn; }
+    public void setWornOn(LocalDate wornOn) { this.wornOn = wornOn; }
+
+    public Long getPlannedEventId() { return plannedEventId; }
+    public void setPlannedEventId(Long plannedEventId) { this.plannedEventId = plannedEventId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,68 @@
+package com.styleai.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Wear count of one item in one day or week bucket.
+ * Weekly buckets start on Monday.
+ */
+@Entity
+@Table(name = "wear_rollups",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_wear_rollups_bucket",
+        columnNames = {"granularity", "item_id", "bucket_start"}),
+    indexes = @Index(name = "idx_wear_rollups_range", columnList = "granularity, bucket_start"))
+public class WearRollup {
+
+    public enum Granularity { DAY, WEEK }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "category")
+    private String category;
+
+    @Column(name = "wear_count", nullable = false)
+    private long wearCount;
+
+    // Constructors
+    public WearRollup() {}
+
+    public WearRollup(Granularity granularity, LocalDate bucketStart, Long itemId, String category) {
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.itemId = itemId;
+        this.category = category;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Granularity getGranularity() { return granularity; }
+    public void setGranularity(Granularity granularity) { this.granularity = granularity; }
+
+    public LocalDate getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDate bucketStart) { this.bucketStart = bucketStart; }
+
+    public Long getItemId() { return itemId; }
+    public void setItemId(Long itemId) { this.itemId = itemId; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public long getWearCount() { return wearCount; }
+    public void setWearCount(long wearCount) { this.wearCount = wearCount; }
+}
@@ -1,23 +1,43 @@
 package com.styleai.repository;
 
 import com.styleai.entity.ClosetItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClosetItemRepository extends JpaRepository<ClosetItem, Long> {
+
+    // Seasons are fetched in the same query to avoid one extra SELECT per item
+    @Override
+    @EntityGraph(attributePaths = "seasons")
+    List<ClosetItem> findAll();
     
+    @EntityGraph(attributePaths = "seasons")
+    List<ClosetItem> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "seasons")
     List<ClosetItem> findByCategory(String category);
     
+    @EntityGraph(attributePaths = "seasons")
     List<ClosetItem> findByColor(String color);
     
-    @Query("SELECT c FROM ClosetItem c JOIN c.seasons s WHERE s = :season")
+    // MEMBER OF rather than an explicit join, so the fetched seasons are not narrowed to the match
+    @EntityGraph(attributePaths = "seasons")
+    @Query("SELECT c FROM ClosetItem c WHERE :season MEMBER OF c.seasons")
     List<ClosetItem> findBySeason(@Param("season") String season);
     
+    @EntityGraph(attributePaths = "seasons")
     @Query("SELECT c FROM ClosetItem c WHERE " +
            "(:category IS NULL OR c.category = :category) AND " +
            "(:color IS NULL OR c.color = :color) AND " +
@@ -26,6 +46,24 @@ public interface ClosetItemRepository extends JpaRepository<ClosetItem, Long> {
                                   @Param("color") String color, 
                                   @Param("season") String season);
     
+    /**
+     * Keyset page: items with id greater than the cursor, in id order.
+     * Only the page size is taken from the Pageable, the offset is always 0.
+     */
+    @Query("SELECT c FROM ClosetItem c WHERE c.id > :afterId ORDER BY c.id")
+    List<ClosetItem> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Cursor-backed stream over the whole closet in id order.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM ClosetItem c ORDER BY c.id")
+    Stream<ClosetItem> streamAllOrderById();
+    
     @Query("SELECT DISTINCT c.category FROM ClosetItem c ORDER BY c.category")
     List<String> findDistinctCategories();
     
@@ -34,4 +72,5 @@ public interface ClosetItemRepository extends JpaRepository<ClosetItem, Long> {
     
     @Query("SELECT DISTINCT s FROM ClosetItem c JOIN c.seasons s ORDER BY s")
     List<String> findDistinctSeasons();
-}
\ No newline at end of file
+
+}
@@ -0,0 +1,65 @@
+package com.styleai.repository;
+
+import com.styleai.entity.ClosetStatCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * insertShardIfAbsent uses INSERT ... ON CONFLICT DO NOTHING, which needs
+ * PostgreSQL, or H2 in PostgreSQL mode as in the dev profile. The rest is
+ * portable SQL.
+ */
+@Repository
+public interface ClosetStatCounterRepository extends JpaRepository<ClosetStatCounter, Long> {
+
+    // Returns the number of rows updated: 0 when the shard does not exist yet
+    @Modifying
+    @Query("UPDATE ClosetStatCounter c SET c.itemCount = c.itemCount + :delta " +
+           "WHERE c.dimension = :dimension AND c.statKey = :statKey AND c.shard = :shard")
+    int addToShard(@Param("dimension") ClosetStatCounter.Dimension dimension,
+                   @Param("statKey") String statKey,
+                   @Param("shard") int shard,
+                   @Param("delta") long delta);
+
+    /**
+     * Creates the shard holding the delta. Returns 0 instead of failing when
+     * uk_closet_stat_counters already holds it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO closet_stat_counters (dimension, stat_key, shard, item_count) " +
+                   "VALUES (:dimension, :statKey, :shard, :delta) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertShardIfAbsent(@Param("dimension") String dimension,
+                            @Param("statKey") String statKey,
+                            @Param("shard") int shard,
+                            @Param("delta") long delta);
+
+    /**
+     * Builds every counter into shard 0 from the items table in one statement,
+     * if there are no counters yet. Two concurrent builds cannot both insert:
+     * the loser fails on uk_closet_stat_counters and inserts nothing.
+     * Returns the number of counters created.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO closet_stat_counters (dimension, stat_key, shard, item_count) " +
+                   "SELECT t.dimension, t.stat_key, 0, t.item_count FROM (" +
+                   "SELECT 'TOTAL' AS dimension, '' AS stat_key, COUNT(*) AS item_count FROM closet_items " +
+                   "UNION ALL SELECT 'NEVER_WORN', '', COUNT(*) FROM closet_items WHERE last_worn IS NULL " +
+                   "UNION ALL SELECT 'CATEGORY', category, COUNT(*) FROM closet_items GROUP BY category " +
+                   "UNION ALL SELECT 'COLOR', color, COUNT(*) FROM closet_items GROUP BY color " +
+                   "UNION ALL SELECT 'SEASON', season, COUNT(DISTINCT item_id) FROM item_seasons " +
+                   "WHERE season IS NOT NULL GROUP BY season" +
+                   ") t WHERE NOT EXISTS (SELECT 1 FROM closet_stat_counters)",
+           nativeQuery = true)
+    int buildFromItemsIfEmpty();
+
+    // Each row is [dimension, statKey, count]
+    @Query("SELECT c.dimension, c.statKey, SUM(c.itemCount) FROM ClosetStatCounter c " +
+           "GROUP BY c.dimension, c.statKey")
+    List<Object[]> sumByKey();
+}
@@ -0,0 +1,9 @@
+package com.styleai.repository;
+
+import com.styleai.entity.ImageAnalysisCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImageAnalysisCacheRepository extends JpaRepository<ImageAnalysisCacheEntry, String> {
+}
@@ -1,9 +1,16 @@
 package com.styleai.repository;
 
 import com.styleai.entity.Outfit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OutfitRepository extends JpaRepository<Outfit, Long> {
+
+    @EntityGraph(attributePaths = "itemIds")
+    List<Outfit> findByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
@@ -1,18 +1,43 @@
 package com.styleai.repository;
 
 import com.styleai.entity.PlannedEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PlannedEventRepository extends JpaRepository<PlannedEvent, Long> {
+
+    // Times of day are fetched in the same query to avoid one extra SELECT per event
+    @Override
+    @EntityGraph(attributePaths = "timesOfDay")
+    List<PlannedEvent> findAll();
     
+    @EntityGraph(attributePaths = "timesOfDay")
     List<PlannedEvent> findByDate(LocalDate date);
     
+    @EntityGraph(attributePaths = "timesOfDay")
     List<PlannedEvent> findByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    @EntityGraph(attributePaths = "timesOfDay")
+    @Query("SELECT e FROM PlannedEvent e WHERE e.date BETWEEN :startDate AND :endDate ORDER BY e.date, e.id")
+    List<PlannedEvent> findCalendarRange(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
     
+    // Backed by idx_planned_events_outfit_id
+    @EntityGraph(attributePaths = "timesOfDay")
     List<PlannedEvent> findByOutfitId(Long outfitId);
-}
\ No newline at end of file
+
+    // Serializes completions of the same event. No entity graph: FOR UPDATE cannot cover an outer join
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM PlannedEvent e WHERE e.id = :id")
+    Optional<PlannedEvent> findByIdForUpdate(@Param("id") Long id);
+}
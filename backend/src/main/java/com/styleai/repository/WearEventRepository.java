@@ -0,0 +1,11 @@
+package com.styleai.repository;
+
+import com.styleai.entity.WearEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WearEventRepository extends JpaRepository<WearEvent, Long> {
+
+    boolean existsByPlannedEventId(Long plannedEventId);
+}
@@ -0,0 +1,61 @@
+package com.styleai.repository;
+
+import com.styleai.entity.WearRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WearRollupRepository extends JpaRepository<WearRollup, Long> {
+
+    // Returns the number of rows updated: 0 when the bucket does not exist yet
+    @Modifying
+    @Query("UPDATE WearRollup r SET r.wearCount = r.wearCount + 1 WHERE r.granularity = :granularity " +
+           "AND r.itemId = :itemId AND r.bucketStart = :bucketStart")
+    int incrementBucket(@Param("granularity") WearRollup.Granularity granularity,
+                        @Param("itemId") Long itemId,
+                        @Param("bucketStart") LocalDate bucketStart);
+
+    /**
+     * Creates the bucket with a count of one. Returns 0 instead of failing when
+     * uk_wear_rollups_bucket already holds it, so a concurrent insert of the same
+     * bucket does not abort the transaction.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO wear_rollups (granularity, bucket_start, item_id, category, wear_count) " +
+                   "VALUES (:granularity, :bucketStart, :itemId, :category, 1) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertBucketIfAbsent(@Param("granularity") String granularity,
+                             @Param("bucketStart") LocalDate bucketStart,
+                             @Param("itemId") Long itemId,
+                             @Param("category") String category);
+
+    // Each row is [itemId, bucketStart, count]
+    @Query("SELECT r.itemId, r.bucketStart, SUM(r.wearCount) FROM WearRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucketStart BETWEEN :from AND :to " +
+           "AND (:itemId IS NULL OR r.itemId = :itemId) " +
+           "AND (:category IS NULL OR r.category = :category) " +
+           "GROUP BY r.itemId, r.bucketStart")
+    List<Object[]> sumByItem(@Param("granularity") WearRollup.Granularity granularity,
+                             @Param("from") LocalDate from,
+                             @Param("to") LocalDate to,
+                             @Param("itemId") Long itemId,
+                             @Param("category") String category);
+
+    // Each row is [category, bucketStart, count]
+    @Query("SELECT r.category, r.bucketStart, SUM(r.wearCount) FROM WearRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucketStart BETWEEN :from AND :to " +
+           "AND (:itemId IS NULL OR r.itemId = :itemId) " +
+           "AND (:category IS NULL OR r.category = :category) " +
+           "GROUP BY r.category, r.bucketStart")
+    List<Object[]> sumByCategory(@Param("granularity") WearRollup.Granularity granularity,
+                                 @Param("from") LocalDate from,
+                                 @Param("to") LocalDate to,
+                                 @Param("itemId") Long itemId,
+                                 @Param("category") String category);
+}
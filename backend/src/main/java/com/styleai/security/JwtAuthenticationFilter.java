@@ -1,5 +1,6 @@
 package com.styleai.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,27 +14,32 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 /**
  * JWT Authentication Filter
  * 
  * This filter intercepts HTTP requests and validates JWT tokens.
  * Uses constructor injection to avoid circular dependencies.
+ * In stateless mode the principal comes from the token claims and no user is loaded.
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final PrincipalMode principalMode;
 
     /**
      * Constructor injection to avoid circular dependencies
      * 
      * @param jwtUtils JWT utility service
      * @param userDetailsService User details service for loading user information
+     * @param principalMode How the authenticated principal is built
      */
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService, PrincipalMode principalMode) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.principalMode = principalMode;
     }
 
     @Override
@@ -41,12 +47,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String email = jwtUtils.getEmailFromJwtToken(jwt);
+            // One verification per token lifetime; repeat requests hit the claims cache
+            Claims claims = jwt != null ? jwtUtils.getVerifiedClaims(jwt) : null;
+            if (claims != null) {
+                String email = claims.getSubject();
+                Long userId = jwtUtils.getUserId(claims);
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                UsernamePasswordAuthenticationToken authentication;
+                // Tokens issued before user ids were embedded still go through the user lookup
+                if (principalMode == PrincipalMode.STATELESS && userId != null) {
+                    authentication = new UsernamePasswordAuthenticationToken(
+                        new JwtPrincipal(userId, email), null, Collections.emptyList());
+                } else {
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                    authentication = 
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                }
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,27 @@
+package com.styleai.security;
+
+import java.security.Principal;
+
+/**
+ * Principal built straight from verified JWT claims in stateless mode
+ * Only tokens carrying the uid claim get one; older tokens go through the user lookup
+ */
+public class JwtPrincipal implements Principal {
+    private final Long id;
+    private final String email;
+
+    public JwtPrincipal(Long id, String email) {
+        this.id = id;
+        this.email = email;
+    }
+
+    public Long getId() { return id; }
+
+    public String getEmail() { return email; }
+
+    @Override
+    public String getName() { return email; }
+
+    @Override
+    public String toString() { return email; }
+}
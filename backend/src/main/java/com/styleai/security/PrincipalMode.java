@@ -0,0 +1,14 @@
+package com.styleai.security;
+
+/**
+ * How JwtAuthenticationFilter turns a verified token into a principal
+ * Selected with auth.principal-mode
+ */
+public enum PrincipalMode {
+    /** Load UserDetails from the database on every request */
+    DATABASE,
+    /** Load UserDetails through UserService's short-TTL cache */
+    CACHED,
+    /** Build the principal from the token claims alone, no user lookup */
+    STATELESS
+}
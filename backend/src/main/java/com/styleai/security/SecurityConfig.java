@@ -1,16 +1,23 @@
 package com.styleai.security;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -36,10 +43,11 @@ public class SecurityConfig {
 
     /**
      * Password encoder bean - created first with no dependencies
+     * Raising auth.bcrypt.strength upgrades existing hashes as users sign in
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     /**
@@ -61,13 +69,15 @@ public class SecurityConfig {
 
     /**
      * Authentication Provider - depends on UserService and PasswordEncoder
-     * UserService is injected by Spring automatically as UserDetailsService
+     * UserService is injected by Spring automatically as UserDetailsService,
+     * and also receives re-encoded passwords when a stored hash is below the current strength
      */
     @Bean
     public DaoAuthenticationProvider authenticationProvider(UserService userService, PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService);
         authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userService);
         return authProvider;
     }
 
@@ -76,14 +86,61 @@ public class SecurityConfig {
      * This breaks the circular dependency by not autowiring UserService directly
      */
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtils jwtUtils, UserService userService) {
-        return new JwtAuthenticationFilter(jwtUtils, userService);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(
+            JwtUtils jwtUtils,
+            UserService userService,
+            @Value("${auth.principal-mode:cached}") PrincipalMode principalMode) {
+        return new JwtAuthenticationFilter(jwtUtils, userService, principalMode);
+    }
+
+    /**
+     * Actuator Filter Chain - health and info are public, everything else
+     * (metrics, prometheus) needs HTTP Basic as the scrape account.
+     * Without auth.scrape.password those endpoints are denied outright.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(
+            HttpSecurity http,
+            PasswordEncoder passwordEncoder,
+            @Value("${auth.scrape.username:prometheus}") String scrapeUsername,
+            @Value("${auth.scrape.password:}") String scrapePassword) throws Exception {
+
+        boolean scrapeEnabled = !scrapePassword.isBlank();
+
+        http.securityMatcher("/actuator/**")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(authz -> {
+                authz.requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll();
+                if (scrapeEnabled) {
+                    authz.anyRequest().hasRole("METRICS");
+                } else {
+                    authz.anyRequest().denyAll();
+                }
+            })
+            .httpBasic(Customizer.withDefaults());
+
+        if (scrapeEnabled) {
+            // Own manager so application users can never authenticate here
+            DaoAuthenticationProvider scrapeProvider = new DaoAuthenticationProvider();
+            scrapeProvider.setUserDetailsService(new InMemoryUserDetailsManager(
+                    User.withUsername(scrapeUsername)
+                            .password(passwordEncoder.encode(scrapePassword))
+                            .roles("METRICS")
+                            .build()));
+            scrapeProvider.setPasswordEncoder(passwordEncoder);
+            http.authenticationManager(new ProviderManager(scrapeProvider));
+        }
+
+        return http.build();
     }
 
     /**
      * Security Filter Chain Configuration
      */
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(
             HttpSecurity http, 
             DaoAuthenticationProvider authenticationProvider,
@@ -92,8 +149,10 @@ public class SecurityConfig {
         http.cors().and().csrf().disable()
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
             .authorizeHttpRequests(authz -> authz
+                // Async re-dispatches (Mono/streaming responses) were already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                .requestMatchers("/auth/me").authenticated()
                 .requestMatchers("/auth/**").permitAll()
-                .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll() // Allow H2 console access in dev
                 .anyRequest().authenticated()
             );
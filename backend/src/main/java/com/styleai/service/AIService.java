@@ -2,15 +2,18 @@ package com.styleai.service;
 
 import com.styleai.dto.*;
 import com.styleai.entity.User;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
 @Service
+@Timed("styleai.service")
 public class AIService {
 
     @Autowired
@@ -19,6 +22,14 @@ public class AIService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private OutfitCombinator outfitCombinator;
+
+    @Autowired
+    private ClosetItemService closetItemService;
+
+    private static final int SUGGESTION_COUNT = 3;
+
     private final Random random = new Random();
 
     public OutfitSuggestionResponse generateWeatherBasedOutfitSuggestions(WeatherBasedOutfitRequest request) {
@@ -31,7 +42,12 @@ public class AIService {
 
     public OutfitSuggestionResponse generateOutfitSuggestions(OutfitSuggestionRequest request) {
         // For backward compatibility - generate basic suggestions
-        List<ClosetItemDTO> items = request.getClosetItems();
+        List<ClosetItemDTO> items = resolveClosetItems(
+            request.getClosetItems(), request.getCategory(), request.getColor(), request.getSeason()
+        );
+        if (items.isEmpty()) {
+            return noSuggestions();
+        }
         String occasion = request.getOccasion() != null ? request.getOccasion() : "Casual Day Out";
         
         OutfitSuggestionResponse.OutfitSuggestion suggestion1 = new OutfitSuggestionResponse.OutfitSuggestion(
@@ -62,34 +78,62 @@ public class AIService {
     }
 
     private OutfitSuggestionResponse generateContextualOutfitSuggestions(WeatherBasedOutfitRequest request, Map<String, Object> weather) {
-        List<ClosetItemDTO> items = request.getClosetItems();
+        List<ClosetItemDTO> items = resolveClosetItems(
+            request.getClosetItems(), request.getCategory(), request.getColor(), request.getSeason()
+        );
+        if (items.isEmpty()) {
+            return noSuggestions();
+        }
         String occasion = request.getOccasion();
         List<String> timesOfDay = request.getTimesOfDay();
         
         // Extract weather information
-        double temperature = (Double) weather.getOrDefault("temperature", 20.0);
+        double temperature = ((Number) weather.getOrDefault("temperature", 20.0)).doubleValue();
         String condition = (String) weather.getOrDefault("condition", "clear");
         String description = (String) weather.getOrDefault("description", "clear sky");
         
+        // Rank complete outfits once; each variant takes the next best
+        List<OutfitCombinator.ScoredOutfit> ranked = outfitCombinator.topOutfits(
+            items, temperature, condition, LocalDate.now(), SUGGESTION_COUNT
+        );
+        
         // Generate weather-appropriate suggestions
         OutfitSuggestionResponse.OutfitSuggestion suggestion1 = generateWeatherAppropriateOutfit(
-            items, occasion, timesOfDay, temperature, condition, description, 1
+            items, ranked, occasion, timesOfDay, temperature, condition, description, 1
         );
         
         OutfitSuggestionResponse.OutfitSuggestion suggestion2 = generateWeatherAppropriateOutfit(
-            items, occasion, timesOfDay, temperature, condition, description, 2
+            items, ranked, occasion, timesOfDay, temperature, condition, description, 2
         );
         
         OutfitSuggestionResponse.OutfitSuggestion suggestion3 = generateWeatherAppropriateOutfit(
-            items, occasion, timesOfDay, temperature, condition, description, 3
+            items, ranked, occasion, timesOfDay, temperature, condition, description, 3
         );
 
         return new OutfitSuggestionResponse(Arrays.asList(suggestion1, suggestion2, suggestion3));
     }
 
+    // Empty closet, or no item matches the filters: nothing to build an outfit from
+    private static OutfitSuggestionResponse noSuggestions() {
+        return new OutfitSuggestionResponse(List.of());
+    }
+
+    /**
+     * Uses the items shipped in the request when present, otherwise the
+     * server-side closet narrowed by the optional filters. That comes from
+     * the in-memory filter index when closet.filter-index.enabled is set and
+     * from the database otherwise. The returned items are only read.
+     */
+    private List<ClosetItemDTO> resolveClosetItems(List<ClosetItemDTO> shipped, String category, String color, String season) {
+        if (shipped != null) {
+            return shipped;
+        }
+        return closetItemService.getItemsByFilters(category, color, season);
+    }
+
     private OutfitSuggestionResponse.OutfitSuggestion generateWeatherAppropriateOutfit(
-            List<ClosetItemDTO> items, String occasion, List<String> timesOfDay, 
-            double temperature, String condition, String description, int variant) {
+            List<ClosetItemDTO> items, List<OutfitCombinator.ScoredOutfit> ranked, String occasion,
+            List<String> timesOfDay, double temperature, String condition, String description, int variant) {
         
         String timeContext = timesOfDay != null && !timesOfDay.isEmpty() ? 
             String.join(" and ", timesOfDay).toLowerCase() : "day";
@@ -126,7 +170,7 @@ public class AIService {
         }
         
         // Select appropriate items from closet
-        List<Long> selectedItemIds = selectItemsForWeather(items, temperature, condition, variant);
+        List<Long> selectedItemIds = selectItemsForWeather(items, ranked, variant);
         
         return new OutfitSuggestionResponse.OutfitSuggestion(
             outfitName, occasion, reasoning, selectedItemIds
@@ -160,8 +204,12 @@ public class AIService {
         return outfits[(variant - 1) % outfits.length];
     }
 
-    private List<Long> selectItemsForWeather(List<ClosetItemDTO> items, double temperature, String condition, int variant) {
-        // Simple selection logic - in a real implementation, this would be more sophisticated
+    private List<Long> selectItemsForWeather(List<ClosetItemDTO> items, List<OutfitCombinator.ScoredOutfit> ranked, int variant) {
+        if (!ranked.isEmpty()) {
+            return ranked.get((variant - 1) % ranked.size()).getItemIds();
+        }
+        
+        // No complete outfit can be built from this closet, fall back to a rotating pick
         if (items.size() >= 3) {
             int offset = (variant - 1) % items.size();
             return Arrays.asList(
@@ -0,0 +1,218 @@
+package com.styleai.service;
+
+import com.styleai.dto.ClosetItemDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process bitmap index over the closet.
+ *
+ * Every item occupies a slot; each category, color and season value owns a
+ * BitSet of the slots carrying it. A filter is the intersection of at most
+ * three bitmaps and the distinct-value lists are the keys with a non-empty
+ * bitmap, so neither touches the database once the index is loaded.
+ *
+ * When enabled it also serves the closet for outfit suggestions.
+ * Slots of deleted items are recycled to keep the bitmaps dense.
+ * Returned DTOs are the indexed snapshots and must be treated as read-only.
+ */
+public class ClosetFilterIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final List<ClosetItemDTO> itemsBySlot = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+
+    private final Map<String, BitSet> byCategory = new TreeMap<>();
+    private final Map<String, BitSet> byColor = new TreeMap<>();
+    private final Map<String, BitSet> bySeason = new TreeMap<>();
+
+    private volatile boolean loaded;
+
+    /**
+     * Loads the index from the supplier the first time it is needed.
+     * Later calls are a single volatile read.
+     */
+    public void ensureLoaded(Supplier<List<ClosetItemDTO>> loader) {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                for (ClosetItemDTO item : loader.get()) {
+                    putUnlocked(item);
+                }
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the item, or replaces the indexed version if its id is already present.
+     */
+    public void put(ClosetItemDTO item) {
+        if (item.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // Before the first load the change is picked up by the loader itself
+            if (loaded) {
+                putUnlocked(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeUnlocked(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Items matching every non-null attribute, in slot order.
+     */
+    public List<ClosetItemDTO> filter(String category, String color, String season) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) live.clone();
+            if (!intersect(result, byCategory, category)
+                    || !intersect(result, byColor, color)
+                    || !intersect(result, bySeason, season)) {
+                return new ArrayList<>();
+            }
+
+            List<ClosetItemDTO> items = new ArrayList<>(result.cardinality());
+            for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+                items.add(itemsBySlot.get(slot));
+            }
+            return items;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every indexed item, in slot order.
+     */
+    public List<ClosetItemDTO> all() {
+        return filter(null, null, null);
+    }
+
+    public List<String> distinctCategories() {
+        return distinct(byCategory);
+    }
+
+    public List<String> distinctColors() {
+        return distinct(byColor);
+    }
+
+    public List<String> distinctSeasons() {
+        return distinct(bySeason);
+    }
+
+    private boolean intersect(BitSet result, Map<String, BitSet> bitmaps, String value) {
+        if (value == null) {
+            return true;
+        }
+        BitSet bitmap = bitmaps.get(value);
+        if (bitmap == null) {
+            return false;
+        }
+        result.and(bitmap);
+        return !result.isEmpty();
+    }
+
+    private List<String> distinct(Map<String, BitSet> bitmaps) {
+        lock.readLock().lock();
+        try {
+            // Empty bitmaps are dropped on removal, so every key is in use
+            return new ArrayList<>(bitmaps.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putUnlocked(ClosetItemDTO item) {
+        removeUnlocked(item.getId());
+
+        int slot = freeSlots.isEmpty() ? itemsBySlot.size() : freeSlots.pop();
+        if (slot == itemsBySlot.size()) {
+            itemsBySlot.add(item);
+        } else {
+            itemsBySlot.set(slot, item);
+        }
+        slotsById.put(item.getId(), slot);
+        live.set(slot);
+
+        mark(byCategory, item.getCategory(), slot);
+        mark(byColor, item.getColor(), slot);
+        if (item.getSeasons() != null) {
+            for (String season : item.getSeasons()) {
+                mark(bySeason, season, slot);
+            }
+        }
+    }
+
+    private void removeUnlocked(Long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        ClosetItemDTO previous = itemsBySlot.get(slot);
+        unmark(byCategory, previous.getCategory(), slot);
+        unmark(byColor, previous.getColor(), slot);
+        if (previous.getSeasons() != null) {
+            for (String season : previous.getSeasons()) {
+                unmark(bySeason, season, slot);
+            }
+        }
+        itemsBySlot.set(slot, null);
+        live.clear(slot);
+        freeSlots.push(slot);
+    }
+
+    private void mark(Map<String, BitSet> bitmaps, String value, int slot) {
+        if (value != null) {
+            bitmaps.computeIfAbsent(value, key -> new BitSet()).set(slot);
+        }
+    }
+
+    private void unmark(Map<String, BitSet> bitmaps, String value, int slot) {
+        if (value == null) {
+            return;
+        }
+        BitSet bitmap = bitmaps.get(value);
+        if (bitmap != null) {
+            bitmap.clear(slot);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(value);
+            }
+        }
+    }
+}
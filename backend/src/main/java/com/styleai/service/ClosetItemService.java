@@ -1,74 +1,316 @@
 package com.styleai.service;
 
+import com.styleai.dto.ClosetItemBulkResultDTO;
 import com.styleai.dto.ClosetItemDTO;
+import com.styleai.dto.ClosetItemPageDTO;
 import com.styleai.entity.ClosetItem;
 import com.styleai.repository.ClosetItemRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("styleai.service")
 public class ClosetItemService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    // Matches @BatchSize on ClosetItem.seasons
+    private static final int STREAM_BATCH_SIZE = 100;
+
     @Autowired
     private ClosetItemRepository closetItemRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ClosetStatsService closetStatsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${closet.bulk.max-items:5000}")
+    private int bulkMaxItems;
+
+    @Value("${closet.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Value("${closet.filter-index.enabled:false}")
+    private boolean filterIndexEnabled;
+
+    private final ClosetFilterIndex filterIndex = new ClosetFilterIndex();
+
     public List<ClosetItemDTO> getAllItems() {
         return closetItemRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset pagination on id. A null cursor starts from the beginning.
+     * One extra row is fetched to know whether another page follows.
+     */
+    public ClosetItemPageDTO getItemsPage(Long afterId, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long cursor = afterId == null ? 0L : afterId;
+
+        List<ClosetItem> rows = closetItemRepository.findPageAfter(cursor, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<ClosetItemDTO> items = rows.stream()
+                .limit(pageSize)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        Long nextCursor = items.isEmpty() ? null : items.get(items.size() - 1).getId();
+        return new ClosetItemPageDTO(items, hasMore ? nextCursor : null, hasMore);
+    }
+
+    /**
+     * Pushes every item to the sink one at a time. Items are converted in
+     * batches of STREAM_BATCH_SIZE so seasons are batch-loaded, then detached
+     * so the persistence context does not grow with the closet.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllItems(Consumer<ClosetItemDTO> sink) {
+        List<ClosetItem> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        try (Stream<ClosetItem> items = closetItemRepository.streamAllOrderById()) {
+            items.forEach(item -> {
+                batch.add(item);
+                if (batch.size() == STREAM_BATCH_SIZE) {
+                    emitBatch(batch, sink);
+                }
+            });
+        }
+        emitBatch(batch, sink);
+    }
+
+    // Seasons are copied while the whole batch is still attached: the first access loads
+    // them for every item in the batch, and the copies stay readable after detaching
+    private void emitBatch(List<ClosetItem> batch, Consumer<ClosetItemDTO> sink) {
+        List<ClosetItemDTO> dtos = new ArrayList<>(batch.size());
+        for (ClosetItem item : batch) {
+            dtos.add(toDetachedDTO(item));
+        }
+        for (ClosetItem item : batch) {
+            entityManager.detach(item);
+        }
+        batch.clear();
+        dtos.forEach(sink);
+    }
+
     public Optional<ClosetItemDTO> getItemById(Long id) {
         return closetItemRepository.findById(id)
                 .map(this::convertToDTO);
     }
 
+    @Transactional
     public ClosetItemDTO createItem(ClosetItemDTO itemDTO) {
         ClosetItem item = convertToEntity(itemDTO);
+        closetStatsService.recordChange(null, ClosetStatsService.Contribution.of(item));
         ClosetItem savedItem = closetItemRepository.save(item);
-        return convertToDTO(savedItem);
+        ClosetItemDTO savedDTO = convertToDTO(savedItem);
+        ClosetItemDTO indexEntry = toDetachedDTO(savedItem);
+        afterCommit(() -> filterIndex.put(indexEntry));
+        return savedDTO;
+    }
+
+    public int getBulkMaxItems() {
+        return bulkMaxItems;
     }
 
+    /**
+     * Imports many items at once. Invalid items are reported and skipped;
+     * the rest are inserted in chunks, each in its own transaction, with
+     * JDBC batching for items and seasons. If a chunk fails, its items are
+     * retried one by one so only the offending rows are rejected.
+     */
+    public ClosetItemBulkResultDTO createItems(List<ClosetItemDTO> itemDTOs) {
+        if (itemDTOs.size() > bulkMaxItems) {
+            throw new IllegalArgumentException("At most " + bulkMaxItems + " items can be imported at once");
+        }
+
+        ClosetItemBulkResultDTO result = new ClosetItemBulkResultDTO();
+        List<Integer> validIndexes = new ArrayList<>(itemDTOs.size());
+        for (int i = 0; i < itemDTOs.size(); i++) {
+            String violations = describeViolations(itemDTOs.get(i));
+            if (violations == null) {
+                validIndexes.add(i);
+            } else {
+                result.getErrors().add(new ClosetItemBulkResultDTO.ItemError(i, violations));
+            }
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int start = 0; start < validIndexes.size(); start += bulkChunkSize) {
+            List<Integer> chunk = validIndexes.subList(start, Math.min(start + bulkChunkSize, validIndexes.size()));
+            try {
+                List<ClosetItem> saved = transaction.execute(status -> persistAll(itemDTOs, chunk));
+                recordCreated(result, saved);
+            } catch (RuntimeException e) {
+                for (Integer index : chunk) {
+                    try {
+                        List<ClosetItem> saved = transaction.execute(status -> persistAll(itemDTOs, List.of(index)));
+                        recordCreated(result, saved);
+                    } catch (RuntimeException itemError) {
+                        System.err.println("Bulk import failed for item " + index + ": " + itemError.getMessage());
+                        result.getErrors().add(new ClosetItemBulkResultDTO.ItemError(index, "Could not be saved"));
+                    }
+                }
+            }
+        }
+
+        result.getErrors().sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return result;
+    }
+
+    @Transactional
     public Optional<ClosetItemDTO> updateItem(Long id, ClosetItemDTO itemDTO) {
         return closetItemRepository.findById(id)
                 .map(existingItem -> {
+                    ClosetStatsService.Contribution before = ClosetStatsService.Contribution.of(existingItem);
+                    ClosetStatsService.Contribution after = ClosetStatsService.Contribution.of(convertToEntity(itemDTO));
+                    closetStatsService.recordChange(before, after);
                     updateEntityFromDTO(existingItem, itemDTO);
                     ClosetItem savedItem = closetItemRepository.save(existingItem);
-                    return convertToDTO(savedItem);
+                    ClosetItemDTO savedDTO = convertToDTO(savedItem);
+                    ClosetItemDTO indexEntry = toDetachedDTO(savedItem);
+                    afterCommit(() -> filterIndex.put(indexEntry));
+                    return savedDTO;
                 });
     }
 
+    @Transactional
     public boolean deleteItem(Long id) {
-        if (closetItemRepository.existsById(id)) {
-            closetItemRepository.deleteById(id);
+        Optional<ClosetItem> existing = closetItemRepository.findById(id);
+        if (existing.isPresent()) {
+            closetStatsService.recordChange(ClosetStatsService.Contribution.of(existing.get()), null);
+            closetItemRepository.delete(existing.get());
+            afterCommit(() -> filterIndex.remove(id));
             return true;
         }
         return false;
     }
 
     public List<ClosetItemDTO> getItemsByFilters(String category, String color, String season) {
+        if (filterIndexEnabled) {
+            return loadedFilterIndex().filter(category, color, season);
+        }
         return closetItemRepository.findByFilters(category, color, season).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<String> getDistinctCategories() {
+        if (filterIndexEnabled) {
+            return loadedFilterIndex().distinctCategories();
+        }
         return closetItemRepository.findDistinctCategories();
     }
 
     public List<String> getDistinctColors() {
+        if (filterIndexEnabled) {
+            return loadedFilterIndex().distinctColors();
+        }
         return closetItemRepository.findDistinctColors();
     }
 
     public List<String> getDistinctSeasons() {
+        if (filterIndexEnabled) {
+            return loadedFilterIndex().distinctSeasons();
+        }
         return closetItemRepository.findDistinctSeasons();
     }
 
-    private ClosetItemDTO convertToDTO(ClosetItem item) {
+    private String describeViolations(ClosetItemDTO itemDTO) {
+        if (itemDTO == null) {
+            return "Item is required";
+        }
+        Set<ConstraintViolation<ClosetItemDTO>> violations = validator.validate(itemDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Runs inside the chunk transaction; entities are built fresh so a retried chunk never reuses assigned ids
+    private List<ClosetItem> persistAll(List<ClosetItemDTO> itemDTOs, List<Integer> indexes) {
+        List<ClosetItem> items = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            items.add(convertToEntity(itemDTOs.get(index)));
+        }
+        closetStatsService.recordAdded(items.stream()
+                .map(ClosetStatsService.Contribution::of)
+                .collect(Collectors.toList()));
+        for (ClosetItem item : items) {
+            entityManager.persist(item);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return items;
+    }
+
+    // Runs after the chunk transaction has committed
+    private void recordCreated(ClosetItemBulkResultDTO result, List<ClosetItem> saved) {
+        for (ClosetItem item : saved) {
+            result.getCreated().add(convertToDTO(item));
+            filterIndex.put(toDetachedDTO(item));
+        }
+    }
+
+    // The index only ever reflects committed rows: a rolled-back write leaves it untouched
+    private void afterCommit(Runnable indexChange) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indexChange.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indexChange.run();
+            }
+        });
+    }
+
+    private ClosetFilterIndex loadedFilterIndex() {
+        filterIndex.ensureLoaded(() -> closetItemRepository.findAll().stream()
+                .map(this::toDetachedDTO)
+                .collect(Collectors.toList()));
+        return filterIndex;
+    }
+
+    // For DTOs that outlive the session (index entries, streamed items): an own copy of the seasons
+    private ClosetItemDTO toDetachedDTO(ClosetItem item) {
+        ClosetItemDTO dto = convertToDTO(item);
+        dto.setSeasons(item.getSeasons() == null ? null : new ArrayList<>(item.getSeasons()));
+        return dto;
+    }
+
+    public ClosetItemDTO convertToDTO(ClosetItem item) {
         ClosetItemDTO dto = new ClosetItemDTO();
         dto.setId(item.getId());
         dto.setName(item.getName());
@@ -0,0 +1,172 @@
+package com.styleai.service;
+
+import com.styleai.dto.ClosetStatsDTO;
+import com.styleai.entity.ClosetItem;
+import com.styleai.entity.ClosetStatCounter.Dimension;
+import com.styleai.repository.ClosetStatCounterRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Maintains the closet counts in closet_stat_counters.
+ *
+ * Item writes report what they add and remove as Contributions. The deltas
+ * are added in the caller's transaction with UPDATE ... SET item_count =
+ * item_count + delta on one randomly chosen shard, so the counts commit or
+ * roll back together with the item, nothing is read first, and concurrent
+ * writes only wait on each other when they pick the same shard.
+ *
+ * When there are no counters yet they are built from the items in a single
+ * INSERT ... SELECT. This runs once all singletons exist, before the web
+ * server takes requests, so no item write can slip in ahead of it. The
+ * closet_stats table used by earlier versions is no longer read; see the
+ * README for dropping it.
+ */
+@Service
+@Timed("styleai.service")
+public class ClosetStatsService implements SmartInitializingSingleton {
+
+    private static final int SHARDS = 16;
+    private static final String NO_KEY = "";
+
+    // Rows within a shard are always updated in this order, so two writers on one shard cannot deadlock
+    private static final Comparator<CounterKey> COUNTER_ORDER =
+            Comparator.comparing(CounterKey::dimension).thenComparing(CounterKey::key);
+
+    @Autowired
+    private ClosetStatCounterRepository closetStatCounterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * What a single item adds to the counts. Seasons are de-duplicated to
+     * match the build query, which counts items per season.
+     */
+    public record Contribution(String category, String color, Set<String> seasons, boolean neverWorn) {
+        public static Contribution of(ClosetItem item) {
+            Set<String> seasons = item.getSeasons() == null
+                    ? Set.of()
+                    : new LinkedHashSet<>(item.getSeasons());
+            return new Contribution(item.getCategory(), item.getColor(), seasons, item.getLastWorn() == null);
+        }
+    }
+
+    private record CounterKey(Dimension dimension, String key) {}
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(
+                    status -> closetStatCounterRepository.buildFromItemsIfEmpty());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance built the counters first
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ClosetStatsDTO getStats() {
+        ClosetStatsDTO stats = new ClosetStatsDTO();
+        for (Object[] row : closetStatCounterRepository.sumByKey()) {
+            Dimension dimension = (Dimension) row[0];
+            String key = (String) row[1];
+            long count = ((Number) row[2]).longValue();
+            switch (dimension) {
+                case TOTAL -> stats.setTotalItems(Math.max(0, count));
+                case NEVER_WORN -> stats.setNeverWornCount(Math.max(0, count));
+                case CATEGORY -> putPositive(stats.getCategoryCounts(), key, count);
+                case COLOR -> putPositive(stats.getColorCounts(), key, count);
+                case SEASON -> putPositive(stats.getSeasonCounts(), key, count);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Applies one item change; either side may be null for a create or delete.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Contribution removed, Contribution added) {
+        List<Contribution> removedList = new ArrayList<>(1);
+        List<Contribution> addedList = new ArrayList<>(1);
+        if (removed != null) {
+            removedList.add(removed);
+        }
+        if (added != null) {
+            addedList.add(added);
+        }
+        apply(removedList, addedList);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(List<Contribution> added) {
+        apply(List.of(), added);
+    }
+
+    private void apply(List<Contribution> removed, List<Contribution> added) {
+        Map<CounterKey, Long> deltas = new TreeMap<>(COUNTER_ORDER);
+        for (Contribution contribution : removed) {
+            collect(deltas, contribution, -1);
+        }
+        for (Contribution contribution : added) {
+            collect(deltas, contribution, 1);
+        }
+
+        int shard = ThreadLocalRandom.current().nextInt(SHARDS);
+        for (Map.Entry<CounterKey, Long> delta : deltas.entrySet()) {
+            if (delta.getValue() != 0) {
+                addToShard(delta.getKey(), shard, delta.getValue());
+            }
+        }
+    }
+
+    // A shard created concurrently between the update and the insert is picked up by the second update
+    private void addToShard(CounterKey counter, int shard, long delta) {
+        if (closetStatCounterRepository.addToShard(counter.dimension(), counter.key(), shard, delta) > 0) {
+            return;
+        }
+        if (closetStatCounterRepository.insertShardIfAbsent(counter.dimension().name(), counter.key(), shard, delta) > 0) {
+            return;
+        }
+        closetStatCounterRepository.addToShard(counter.dimension(), counter.key(), shard, delta);
+    }
+
+    private void collect(Map<CounterKey, Long> deltas, Contribution contribution, int sign) {
+        adjust(deltas, Dimension.TOTAL, NO_KEY, sign);
+        if (contribution.neverWorn()) {
+            adjust(deltas, Dimension.NEVER_WORN, NO_KEY, sign);
+        }
+        adjust(deltas, Dimension.CATEGORY, contribution.category(), sign);
+        adjust(deltas, Dimension.COLOR, contribution.color(), sign);
+        contribution.seasons().forEach(season -> adjust(deltas, Dimension.SEASON, season, sign));
+    }
+
+    private void adjust(Map<CounterKey, Long> deltas, Dimension dimension, String key, int sign) {
+        if (key != null) {
+            deltas.merge(new CounterKey(dimension, key), (long) sign, Long::sum);
+        }
+    }
+
+    // Values that sum to zero are left out so the maps only list what is in the closet
+    private void putPositive(Map<String, Integer> counts, String key, long count) {
+        if (count > 0) {
+            counts.put(key, (int) count);
+        }
+    }
+}
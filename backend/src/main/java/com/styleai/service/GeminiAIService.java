@@ -1,24 +1,44 @@
 package com.styleai.service;
 
 import com.styleai.dto.AIAnalysisResponse;
+import com.styleai.dto.AIBatchAnalysisResultDTO;
 import com.styleai.dto.AIImageAnalysisRequest;
 import com.styleai.dto.AIImageGenerationResponse;
 import com.styleai.dto.AITextToImageRequest;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
+/**
+ * Gemini-backed clothing analysis with keyword and mock fallbacks.
+ *
+ * The Mono and Flux methods return before any work happens, so their
+ * styleai.service timers measure assembly only; the Gemini round trips are
+ * timed by http.client.requests on the shared WebClient.
+ */
 @Service
+@Timed("styleai.service")
 public class GeminiAIService {
 
     @Value("${ai.gemini.api-key}")
@@ -27,42 +47,249 @@ public class GeminiAIService {
     @Value("${ai.gemini.base-url}")
     private String geminiBaseUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${ai.gemini.total-timeout:30s}")
+    private Duration totalTimeout;
+
+    @Value("${ai.batch.max-items:100}")
+    private int batchMaxItems;
+
+    @Value("${ai.batch.concurrency:8}")
+    private int batchConcurrency;
+
+    @Value("${ai.batch.item-timeout:20s}")
+    private Duration batchItemTimeout;
+
+    @Value("${ai.classifier.batch-max-items:1000}")
+    private int classifierBatchMaxItems;
+
+    private final WebClient geminiWebClient;
+    private final ImageAnalysisCache imageAnalysisCache;
+    private final ImagePreprocessor imagePreprocessor;
+    private final MeterRegistry meterRegistry;
+    private final KeywordClassifier keywordClassifier;
+    private final GeminiResponseParser geminiResponseParser;
     private final Random random = new Random();
 
-    public AIAnalysisResponse analyzeClothingImage(AIImageAnalysisRequest request) {
+    public GeminiAIService(WebClient geminiWebClient, ImageAnalysisCache imageAnalysisCache,
+                           ImagePreprocessor imagePreprocessor, MeterRegistry meterRegistry,
+                           KeywordClassifier keywordClassifier, GeminiResponseParser geminiResponseParser) {
+        this.geminiWebClient = geminiWebClient;
+        this.imageAnalysisCache = imageAnalysisCache;
+        this.imagePreprocessor = imagePreprocessor;
+        this.meterRegistry = meterRegistry;
+        this.keywordClassifier = keywordClassifier;
+        this.geminiResponseParser = geminiResponseParser;
+    }
+
+    public Mono<AIAnalysisResponse> analyzeClothingImage(AIImageAnalysisRequest request) {
+        // Check if we have a real API key
+        if (!hasRealApiKey()) {
+            countFallback("analyzeClothingImage", "no_api_key");
+            return Mono.fromSupplier(this::generateMockAnalysisFromImage);
+        }
+        
+        // Hashed inside the pipeline so undecodable base64 also falls back to mock data
+        String imageBase64 = request.getImageBase64();
+        return withMockFallback(Mono.fromCallable(() -> imageAnalysisCache.hashOf(imageBase64))
+                .flatMap(imageHash -> cachedOrGemini(imageHash, imageBase64)));
+    }
+
+    /**
+     * Binary upload path: the image is stream-decoded, downscaled and re-encoded
+     * as JPEG off the request thread before it is sent to Gemini.
+     */
+    public Mono<AIAnalysisResponse> analyzeClothingImage(InputStream imageStream) {
         // Check if we have a real API key
-        if (geminiApiKey == null || geminiApiKey.equals("mock-gemini-key-for-development") || geminiApiKey.trim().isEmpty()) {
-            return generateMockAnalysisFromImage();
+        if (!hasRealApiKey()) {
+            countFallback("analyzeClothingImage", "no_api_key");
+            return Mono.fromSupplier(this::generateMockAnalysisFromImage);
         }
         
-        try {
-            // Try to call real Gemini API
-            return callGeminiVisionAPI(request.getImageBase64());
-        } catch (Exception e) {
-            System.err.println("Gemini API call failed, falling back to mock data: " + e.getMessage());
-            return generateMockAnalysisFromImage();
+        return Mono.fromCallable(() -> imagePreprocessor.prepare(imageStream))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(prepared -> withMockFallback(cachedOrGemini(prepared.sourceHash(), prepared.base64Jpeg())));
+    }
+
+    private Mono<AIAnalysisResponse> withMockFallback(Mono<AIAnalysisResponse> analysis) {
+        return analysis
+                .onErrorResume(e -> {
+                    System.err.println("Gemini API call failed, falling back to mock data: " + e.getMessage());
+                    countFallback("analyzeClothingImage", fallbackReason(e));
+                    return Mono.fromSupplier(this::generateMockAnalysisFromImage);
+                });
+    }
+
+    private Mono<AIAnalysisResponse> cachedOrGemini(String imageHash, String imageBase64) {
+        // Identical images (re-uploads, retries) are answered from the cache
+        Optional<AIAnalysisResponse> cached = imageAnalysisCache.getFromMemory(imageHash);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
         }
+        
+        Mono<AIAnalysisResponse> fromStore = imageAnalysisCache.isPersistent()
+                ? Mono.fromCallable(() -> imageAnalysisCache.getFromStore(imageHash))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .mapNotNull(found -> found.orElse(null))
+                : Mono.empty();
+        
+        // Try to call real Gemini API
+        return fromStore
+                .switchIfEmpty(Mono.defer(() -> callGeminiVisionAPI(imageBase64)
+                        .doOnNext(response -> imageAnalysisCache.put(imageHash, response))));
     }
 
-    public AIImageGenerationResponse generateClothingImage(AITextToImageRequest request) {
+    public Mono<AIImageGenerationResponse> generateClothingImage(AITextToImageRequest request) {
         // For now, return mock data. Gemini doesn't have image generation yet
         return generateMockImageFromText(request);
     }
 
-    public AIAnalysisResponse analyzeTextForClothing(String itemName) {
+    public Mono<AIAnalysisResponse> analyzeTextForClothing(String itemName) {
         // Check if we have a real API key
-        if (geminiApiKey == null || geminiApiKey.equals("mock-gemini-key-for-development") || geminiApiKey.trim().isEmpty()) {
-            return generateMockAnalysisFromText(itemName);
+        if (!hasRealApiKey()) {
+            countFallback("analyzeTextForClothing", "no_api_key");
+            return Mono.fromSupplier(() -> generateMockAnalysisFromText(itemName));
         }
         
-        try {
-            // Try to call real Gemini API for text analysis
-            return callGeminiTextAPI(itemName);
-        } catch (Exception e) {
-            System.err.println("Gemini API call failed, falling back to mock data: " + e.getMessage());
-            return generateMockAnalysisFromText(itemName);
+        // Try to call real Gemini API for text analysis
+        return callGeminiTextAPI(itemName)
+                .onErrorResume(e -> {
+                    System.err.println("Gemini API call failed, falling back to mock data: " + e.getMessage());
+                    countFallback("analyzeTextForClothing", fallbackReason(e));
+                    return Mono.fromSupplier(() -> generateMockAnalysisFromText(itemName));
+                });
+    }
+
+    /**
+     * Analyzes up to ai.batch.max-items item names. Identical names are sent once,
+     * at most ai.batch.concurrency go to Gemini at a time, and results are emitted
+     * as they complete, each with its own mock fallback.
+     */
+    public Flux<AIBatchAnalysisResultDTO> analyzeTextsForClothing(List<String> itemNames) {
+        checkBatchSize(itemNames.size());
+        if (itemNames.stream().anyMatch(name -> name == null || name.isBlank())) {
+            throw new IllegalArgumentException("Item names must not be blank");
+        }
+        Map<String, List<Integer>> distinct = new LinkedHashMap<>();
+        for (int i = 0; i < itemNames.size(); i++) {
+            distinct.computeIfAbsent(itemNames.get(i), name -> new ArrayList<>()).add(i);
+        }
+        return fanOut("analyzeTextForClothing", distinct,
+                this::callGeminiTextAPI, this::generateMockAnalysisFromText);
+    }
+
+    /**
+     * Base64 image batch; identical images are analyzed once and share the single-image cache.
+     */
+    public Flux<AIBatchAnalysisResultDTO> analyzeClothingImages(List<String> imagesBase64) {
+        checkBatchSize(imagesBase64.size());
+        Map<String, String> imagesByHash = new HashMap<>();
+        Map<String, List<Integer>> distinct = new LinkedHashMap<>();
+        List<AIBatchAnalysisResultDTO> rejected = new ArrayList<>();
+        for (int i = 0; i < imagesBase64.size(); i++) {
+            String imageBase64 = imagesBase64.get(i);
+            String imageHash;
+            try {
+                imageHash = imageAnalysisCache.hashOf(imageBase64);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                rejected.add(rejectedResult(i, "Invalid base64 image"));
+                continue;
+            }
+            imagesByHash.putIfAbsent(imageHash, imageBase64);
+            distinct.computeIfAbsent(imageHash, hash -> new ArrayList<>()).add(i);
+        }
+        return Flux.fromIterable(rejected).concatWith(fanOut("analyzeClothingImage", distinct,
+                imageHash -> cachedOrGemini(imageHash, imagesByHash.get(imageHash)),
+                imageHash -> generateMockAnalysisFromImage()));
+    }
+
+    /**
+     * Uploaded image batch; each distinct image is downscaled off the request thread before analysis.
+     * Images that cannot be decoded are reported per item.
+     */
+    public Flux<AIBatchAnalysisResultDTO> analyzeClothingImageUploads(List<byte[]> images) {
+        checkBatchSize(images.size());
+        Map<String, byte[]> imagesByHash = new HashMap<>();
+        Map<String, List<Integer>> distinct = new LinkedHashMap<>();
+        for (int i = 0; i < images.size(); i++) {
+            String imageHash = imageAnalysisCache.hashOf(images.get(i));
+            imagesByHash.putIfAbsent(imageHash, images.get(i));
+            distinct.computeIfAbsent(imageHash, hash -> new ArrayList<>()).add(i);
+        }
+        return fanOut("analyzeClothingImage", distinct,
+                imageHash -> Mono.fromCallable(() -> imagePreprocessor.prepare(new ByteArrayInputStream(imagesByHash.get(imageHash))))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(prepared -> cachedOrGemini(prepared.sourceHash(), prepared.base64Jpeg())),
+                imageHash -> generateMockAnalysisFromImage());
+    }
+
+    // One Gemini call per distinct input with bounded concurrency; per-item deadline and fallback.
+    // IllegalArgumentException means the input itself is unusable and is reported instead of mocked.
+    private <K> Flux<AIBatchAnalysisResultDTO> fanOut(String operation, Map<K, List<Integer>> distinct,
+                                                      Function<K, Mono<AIAnalysisResponse>> analyze,
+                                                      Function<K, AIAnalysisResponse> mock) {
+        if (!hasRealApiKey()) {
+            return Flux.fromIterable(distinct.entrySet())
+                    .map(entry -> {
+                        countFallback(operation, "no_api_key");
+                        return fallbackResult(entry.getValue(), mock.apply(entry.getKey()), "no_api_key");
+                    });
+        }
+        return Flux.fromIterable(distinct.entrySet())
+                .flatMap(entry -> Mono.defer(() -> analyze.apply(entry.getKey()))
+                        .timeout(batchItemTimeout)
+                        .map(response -> new AIBatchAnalysisResultDTO(entry.getValue(), response))
+                        .onErrorResume(IllegalArgumentException.class, e -> {
+                            AIBatchAnalysisResultDTO result = new AIBatchAnalysisResultDTO(entry.getValue(), null);
+                            result.setError(e.getMessage());
+                            return Mono.just(result);
+                        })
+                        .onErrorResume(e -> {
+                            String reason = fallbackReason(e);
+                            System.err.println("Gemini API call failed, falling back to mock data: " + e.getMessage());
+                            countFallback(operation, reason);
+                            return Mono.fromSupplier(() -> fallbackResult(entry.getValue(), mock.apply(entry.getKey()), reason));
+                        }), batchConcurrency);
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > batchMaxItems) {
+            throw new IllegalArgumentException("At most " + batchMaxItems + " items can be analyzed at once");
+        }
+    }
+
+    // reason tag for styleai.fallback.mock: timeout, parse_error (unusable Gemini answer) or error
+    private static String fallbackReason(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return "timeout";
+            }
+            if (cause instanceof GeminiResponseParser.MalformedResponseException) {
+                return "parse_error";
+            }
         }
+        return "error";
+    }
+
+    private static AIBatchAnalysisResultDTO fallbackResult(List<Integer> indexes, AIAnalysisResponse response, String reason) {
+        AIBatchAnalysisResultDTO result = new AIBatchAnalysisResultDTO(indexes, response);
+        result.setFallback(true);
+        result.setFallbackReason(reason);
+        return result;
+    }
+
+    private static AIBatchAnalysisResultDTO rejectedResult(int index, String error) {
+        AIBatchAnalysisResultDTO result = new AIBatchAnalysisResultDTO(List.of(index), null);
+        result.setError(error);
+        return result;
+    }
+
+    // styleai.fallback.mock{operation, reason}: how often callers got mock data instead of a Gemini answer
+    private void countFallback(String operation, String reason) {
+        meterRegistry.counter("styleai.fallback.mock", "operation", operation, "reason", reason).increment();
+    }
+
+    private boolean hasRealApiKey() {
+        return geminiApiKey != null && !geminiApiKey.equals("mock-gemini-key-for-development") && !geminiApiKey.trim().isEmpty();
     }
 
     private AIAnalysisResponse generateMockAnalysisFromImage() {
@@ -92,7 +319,7 @@ public class GeminiAIService {
         return response;
     }
 
-    private AIImageGenerationResponse generateMockImageFromText(AITextToImageRequest request) {
+    private Mono<AIImageGenerationResponse> generateMockImageFromText(AITextToImageRequest request) {
         // Mock image URLs - in production, these would be generated by an image generation service
         String[] mockImageUrls = {
             "https://images.unsplash.com/photo-1521572163474-6864f9cf17ab?w=400&h=600&fit=crop",
@@ -101,169 +328,107 @@ public class GeminiAIService {
             "https://images.unsplash.com/photo-1516762689617-e1cffcef479d?w=400&h=600&fit=crop"
         };
 
-        AIImageGenerationResponse response = new AIImageGenerationResponse();
-        response.setImageUrl(mockImageUrls[random.nextInt(mockImageUrls.length)]);
+        String imageUrl = mockImageUrls[random.nextInt(mockImageUrls.length)];
         
         // Analyze the item name to suggest details
-        AIAnalysisResponse analysis = analyzeTextForClothing(request.getItemName());
-        response.setName(analysis.getName());
-        response.setCategory(analysis.getCategory());
-        response.setColor(analysis.getColor());
-        response.setSeasons(analysis.getSeasons());
-        response.setDataAiHint(analysis.getDataAiHint());
-        
-        return response;
+        return analyzeTextForClothing(request.getItemName()).map(analysis -> {
+            AIImageGenerationResponse response = new AIImageGenerationResponse();
+            response.setImageUrl(imageUrl);
+            response.setName(analysis.getName());
+            response.setCategory(analysis.getCategory());
+            response.setColor(analysis.getColor());
+            response.setSeasons(analysis.getSeasons());
+            response.setDataAiHint(analysis.getDataAiHint());
+            return response;
+        });
     }
 
     private AIAnalysisResponse generateMockAnalysisFromText(String itemName) {
-        AIAnalysisResponse response = new AIAnalysisResponse();
-        String lowerName = itemName.toLowerCase();
-        
-        // Improved text analysis for category
-        if (lowerName.contains("shirt") || lowerName.contains("tee") || lowerName.contains("t-shirt") || 
-            lowerName.contains("top") || lowerName.contains("blouse") || lowerName.contains("sweater") || 
-            lowerName.contains("hoodie") || lowerName.contains("cardigan") || lowerName.contains("tank")) {
-            response.setCategory("Tops");
-        } else if (lowerName.contains("jeans") || lowerName.contains("pants") || lowerName.contains("trousers") || 
-                   lowerName.contains("shorts") || lowerName.contains("skirt") || lowerName.contains("leggings")) {
-            response.setCategory("Bottoms");
-        } else if (lowerName.contains("dress") || lowerName.contains("gown") || lowerName.contains("sundress")) {
-            response.setCategory("Dresses");
-        } else if (lowerName.contains("jacket") || lowerName.contains("coat") || lowerName.contains("blazer") || 
-                   lowerName.contains("cardigan") || lowerName.contains("vest")) {
-            response.setCategory("Outerwear");
-        } else if (lowerName.contains("shoe") || lowerName.contains("sneaker") || lowerName.contains("boot") || 
-                   lowerName.contains("sandal") || lowerName.contains("loafer") || lowerName.contains("heel")) {
-            response.setCategory("Shoes");
-        } else {
-            response.setCategory("Accessories");
+        return toAnalysisResponse(itemName, keywordClassifier.classify(itemName));
+    }
+
+    /**
+     * Keyword classification of up to ai.classifier.batch-max-items names at once, without calling Gemini
+     */
+    public List<AIAnalysisResponse> classifyItemNames(List<String> itemNames) {
+        if (itemNames.size() > classifierBatchMaxItems) {
+            throw new IllegalArgumentException("At most " + classifierBatchMaxItems + " item names can be classified at once");
         }
-        
-        // Improved color detection
-        String[] colors = {"white", "black", "blue", "red", "green", "yellow", "brown", "gray", "grey", "pink", "purple", "navy", "beige", "tan", "cream"};
-        String detectedColor = "Black"; // Default color
-        for (String color : colors) {
-            if (lowerName.contains(color)) {
-                detectedColor = color.substring(0, 1).toUpperCase() + color.substring(1);
-                if (detectedColor.equals("Grey")) detectedColor = "Gray";
-                break;
-            }
+        if (itemNames.stream().anyMatch(name -> name == null || name.isBlank())) {
+            throw new IllegalArgumentException("Item names must not be blank");
         }
-        response.setColor(detectedColor);
-        
-        // Improved seasons based on category and item type
-        if (response.getCategory().equals("Outerwear") || lowerName.contains("coat") || lowerName.contains("jacket")) {
-            if (lowerName.contains("winter") || lowerName.contains("wool") || lowerName.contains("heavy")) {
-                response.setSeasons(Arrays.asList("Winter"));
-            } else {
-                response.setSeasons(Arrays.asList("Autumn", "Winter"));
-            }
-        } else if (lowerName.contains("shorts") || lowerName.contains("tank") || lowerName.contains("sundress") || 
-                   lowerName.contains("sandal") || lowerName.contains("summer")) {
-            response.setSeasons(Arrays.asList("Summer"));
-        } else if (lowerName.contains("sweater") || lowerName.contains("wool") || lowerName.contains("winter")) {
-            response.setSeasons(Arrays.asList("Winter"));
-        } else if (lowerName.contains("light") || lowerName.contains("spring")) {
-            response.setSeasons(Arrays.asList("Spring", "Summer"));
-        } else {
-            response.setSeasons(Arrays.asList("All"));
+        List<KeywordClassifier.Classification> classifications = keywordClassifier.classifyAll(itemNames);
+        List<AIAnalysisResponse> responses = new ArrayList<>(itemNames.size());
+        for (int i = 0; i < itemNames.size(); i++) {
+            responses.add(toAnalysisResponse(itemNames.get(i), classifications.get(i)));
         }
-        
+        return responses;
+    }
+
+    private AIAnalysisResponse toAnalysisResponse(String itemName, KeywordClassifier.Classification classification) {
+        AIAnalysisResponse response = new AIAnalysisResponse();
         response.setName(itemName);
-        response.setDataAiHint(detectedColor.toLowerCase() + " " + itemName.toLowerCase());
-        
+        response.setCategory(classification.category());
+        response.setColor(classification.color());
+        response.setMaterial(classification.material());
+        response.setSeasons(classification.seasons());
+        response.setDataAiHint(classification.color().toLowerCase() + " " + itemName.toLowerCase());
         return response;
     }
 
     // Method to call actual Gemini Vision API
-    private AIAnalysisResponse callGeminiVisionAPI(String imageBase64) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Content-Type", "application/json");
-
-            Map<String, Object> requestBody = new HashMap<>();
-            
-            // Gemini Vision API request structure
-            Map<String, Object> contents = new HashMap<>();
-            contents.put("parts", Arrays.asList(
-                Map.of("text", "Analyze this clothing item and provide: name, category (Tops/Bottoms/Dresses/Outerwear/Shoes/Accessories), color, and suitable seasons (Spring/Summer/Autumn/Winter/All). Respond in JSON format with fields: name, category, color, seasons (array)."),
-                Map.of("inline_data", Map.of(
-                    "mime_type", "image/jpeg",
-                    "data", imageBase64
-                ))
-            ));
-            
-            requestBody.put("contents", Arrays.asList(contents));
-            
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            
-            String url = geminiBaseUrl + "/models/gemini-pro-vision:generateContent?key=" + geminiApiKey;
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
-            
-            // Parse Gemini response and convert to AIAnalysisResponse
-            return parseGeminiResponse(response.getBody());
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to call Gemini Vision API", e);
-        }
+    private Mono<AIAnalysisResponse> callGeminiVisionAPI(String imageBase64) {
+        Map<String, Object> requestBody = new HashMap<>();
+        
+        // Gemini Vision API request structure
+        Map<String, Object> contents = new HashMap<>();
+        contents.put("parts", Arrays.asList(
+            Map.of("text", "Analyze this clothing item and provide: name, category (Tops/Bottoms/Dresses/Outerwear/Shoes/Accessories), color, and suitable seasons (Spring/Summer/Autumn/Winter/All). Respond in JSON format with fields: name, category, color, seasons (array)."),
+            Map.of("inline_data", Map.of(
+                "mime_type", "image/jpeg",
+                "data", imageBase64
+            ))
+        ));
+        
+        requestBody.put("contents", Arrays.asList(contents));
+        
+        return postToGemini("gemini-pro-vision", requestBody, "Failed to call Gemini Vision API");
     }
 
     // Method to call actual Gemini text API
-    private AIAnalysisResponse callGeminiTextAPI(String itemName) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Content-Type", "application/json");
-
-            Map<String, Object> requestBody = new HashMap<>();
-            
-            Map<String, Object> contents = new HashMap<>();
-            contents.put("parts", Arrays.asList(
-                Map.of("text", "Analyze this clothing item name: '" + itemName + "' and provide: category (Tops/Bottoms/Dresses/Outerwear/Shoes/Accessories), likely color, and suitable seasons (Spring/Summer/Autumn/Winter/All). Respond in JSON format with fields: name, category, color, seasons (array).")
-            ));
-            
-            requestBody.put("contents", Arrays.asList(contents));
-            
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            
-            String url = geminiBaseUrl + "/models/gemini-pro:generateContent?key=" + geminiApiKey;
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
-            
-            // Parse Gemini response and convert to AIAnalysisResponse
-            return parseGeminiResponse(response.getBody());
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to call Gemini text API", e);
-        }
-    }
-
-    private AIAnalysisResponse parseGeminiResponse(Map<String, Object> responseBody) {
-        // This is a simplified parser - you'd need to implement proper JSON parsing
-        // based on Gemini's actual response format
-        AIAnalysisResponse response = new AIAnalysisResponse();
+    private Mono<AIAnalysisResponse> callGeminiTextAPI(String itemName) {
+        Map<String, Object> requestBody = new HashMap<>();
         
-        try {
-            // Extract the generated text from Gemini response
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) responseBody.get("candidates");
-            if (candidates != null && !candidates.isEmpty()) {
-                Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
-                List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
-                if (parts != null && !parts.isEmpty()) {
-                    String text = (String) parts.get(0).get("text");
-                    
-                    // Parse the JSON response from Gemini
-                    // This would need proper JSON parsing in a real implementation
-                    response.setName("Analyzed Item");
-                    response.setCategory("Tops");
-                    response.setColor("Blue");
-                    response.setSeasons(Arrays.asList("All"));
-                    response.setDataAiHint("analyzed item");
-                }
-            }
-        } catch (Exception e) {
-            // Fall back to mock data if parsing fails
-            return generateMockAnalysisFromImage();
-        }
+        Map<String, Object> contents = new HashMap<>();
+        contents.put("parts", Arrays.asList(
+            Map.of("text", "Analyze this clothing item name: '" + itemName + "' and provide: category (Tops/Bottoms/Dresses/Outerwear/Shoes/Accessories), likely color, and suitable seasons (Spring/Summer/Autumn/Winter/All). Respond in JSON format with fields: name, category, color, seasons (array).")
+        ));
         
-        return response;
+        requestBody.put("contents", Arrays.asList(contents));
+        
+        return postToGemini("gemini-pro", requestBody, "Failed to call Gemini text API")
+                .map(response -> {
+                    if (response.getName() == null || response.getName().isBlank()) {
+                        response.setName(itemName);
+                        response.setDataAiHint(response.getColor().toLowerCase() + " " + itemName.toLowerCase());
+                    }
+                    return response;
+                });
+    }
+
+    // Shared pooled POST with the overall deadline on top of the client's connect/read timeouts.
+    // The URI template becomes the http.client.requests uri tag, so the key stays a placeholder there.
+    private Mono<AIAnalysisResponse> postToGemini(String model, Map<String, Object> requestBody, String failureMessage) {
+        return geminiWebClient.post()
+                .uri(geminiBaseUrl + "/models/{model}:generateContent?key={key}", model, geminiApiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                // Raw pooled bytes; the parser streams through them and releases the buffer
+                .bodyToMono(DataBuffer.class)
+                .map(geminiResponseParser::parseAnalysis)
+                .switchIfEmpty(Mono.error(() -> new GeminiResponseParser.MalformedResponseException("Empty Gemini response")))
+                .timeout(totalTimeout)
+                .onErrorMap(e -> new RuntimeException(failureMessage, e));
     }
 }
\ No newline at end of file
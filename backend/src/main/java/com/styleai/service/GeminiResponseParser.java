@@ -0,0 +1,153 @@
+package com.styleai.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.styleai.dto.AIAnalysisResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the analysis out of a Gemini generateContent response.
+ *
+ * The envelope is walked with a streaming JsonParser straight from the response
+ * bytes to candidates[0].content.parts[0].text, skipping everything else. That
+ * text is itself JSON (optionally inside a markdown code fence); it is bound to
+ * AIAnalysisResponse from the parser's own character buffer, so neither the
+ * envelope nor the embedded payload is materialized as a Map or a String.
+ */
+@Component
+public class GeminiResponseParser {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader analysisReader;
+
+    public GeminiResponseParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.analysisReader = objectMapper.readerFor(AIAnalysisResponse.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+    }
+
+    /**
+     * The response was readable JSON but not a usable analysis, or not JSON at all.
+     */
+    public static class MalformedResponseException extends RuntimeException {
+        public MalformedResponseException(String message) {
+            super(message);
+        }
+
+        public MalformedResponseException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Parses and releases the (joined) response body.
+     */
+    public AIAnalysisResponse parseAnalysis(DataBuffer body) {
+        try (InputStream in = body.asInputStream(true)) {
+            return parseAnalysis(in);
+        } catch (IOException e) {
+            throw new MalformedResponseException("Cannot read Gemini response", e);
+        }
+    }
+
+    public AIAnalysisResponse parseAnalysis(InputStream body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedResponseException("Gemini response is not a JSON object");
+            }
+            String blockReason = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("candidates".equals(field) && value == JsonToken.START_ARRAY) {
+                    if (parser.nextToken() == JsonToken.START_OBJECT
+                            && toField(parser, "content", JsonToken.START_OBJECT)
+                            && toField(parser, "parts", JsonToken.START_ARRAY)
+                            && parser.nextToken() == JsonToken.START_OBJECT
+                            && toField(parser, "text", JsonToken.VALUE_STRING)) {
+                        // The rest of the envelope is not needed
+                        return readEmbeddedAnalysis(parser);
+                    }
+                    throw new MalformedResponseException("Gemini response has no candidate text");
+                } else if ("promptFeedback".equals(field) && value == JsonToken.START_OBJECT) {
+                    if (toField(parser, "blockReason", JsonToken.VALUE_STRING)) {
+                        blockReason = parser.getText();
+                        skipRestOfObject(parser);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            throw new MalformedResponseException(blockReason != null
+                    ? "Gemini blocked the prompt: " + blockReason
+                    : "Gemini response has no candidates");
+        } catch (IOException e) {
+            throw new MalformedResponseException("Gemini response is not valid JSON", e);
+        }
+    }
+
+    // Binds the current string token's characters without turning them into a String
+    private AIAnalysisResponse readEmbeddedAnalysis(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int start = parser.getTextOffset();
+        int end = start + parser.getTextLength();
+
+        // Models often wrap the JSON in ```json fences or add a sentence around it
+        while (start < end && chars[start] != '{') {
+            start++;
+        }
+        while (end > start && chars[end - 1] != '}') {
+            end--;
+        }
+        if (start >= end) {
+            throw new MalformedResponseException("Gemini text contains no JSON object");
+        }
+
+        AIAnalysisResponse response;
+        try (JsonParser embedded = objectMapper.getFactory().createParser(chars, start, end - start)) {
+            response = analysisReader.readValue(embedded);
+        }
+        if (response == null || isBlank(response.getCategory()) || isBlank(response.getColor())) {
+            throw new MalformedResponseException("Gemini analysis is missing category or color");
+        }
+        if (isBlank(response.getDataAiHint()) && !isBlank(response.getName())) {
+            response.setDataAiHint(response.getColor().toLowerCase() + " " + response.getName().toLowerCase());
+        }
+        return response;
+    }
+
+    /**
+     * Inside an object, moves to the value of the named field if it has the expected type,
+     * skipping the other fields. Returns false if the object ends first.
+     */
+    private static boolean toField(JsonParser parser, String name, JsonToken expected) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals(field) && value == expected) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static void skipRestOfObject(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,173 @@
+package com.styleai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.styleai.dto.AIAnalysisResponse;
+import com.styleai.entity.ImageAnalysisCacheEntry;
+import com.styleai.repository.ImageAnalysisCacheRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Analysis results keyed by the SHA-256 of the decoded image bytes.
+ *
+ * The first tier is an in-memory LRU; the optional second tier is the
+ * image_analysis_cache table, so results survive restarts and are shared
+ * between instances. Lookups and stores return copies, callers may mutate them.
+ */
+@Component
+public class ImageAnalysisCache {
+
+    @Autowired
+    private ImageAnalysisCacheRepository imageAnalysisCacheRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ai.image-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${ai.image-cache.persistent:false}")
+    private boolean persistent;
+
+    private Cache<String, AIAnalysisResponse> memory;
+
+    @PostConstruct
+    public void initCache() {
+        memory = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "image-analysis");
+    }
+
+    /**
+     * Hex SHA-256 of the image the base64 string decodes to. A data URL
+     * prefix ("data:image/png;base64,") is ignored, so both forms of one
+     * image share an entry.
+     *
+     * @throws IllegalArgumentException if the rest is not strict base64
+     */
+    public String hashOf(String imageBase64) {
+        String payload = imageBase64.startsWith("data:")
+                ? imageBase64.substring(imageBase64.indexOf(',') + 1)
+                : imageBase64;
+        // The MIME decoder would skip illegal characters and hash whatever is left
+        byte[] imageBytes = Base64.getDecoder().decode(payload);
+        return hashOf(imageBytes);
+    }
+
+    public String hashOf(byte[] imageBytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(imageBytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    public Optional<AIAnalysisResponse> getFromMemory(String imageHash) {
+        return Optional.ofNullable(memory.getIfPresent(imageHash)).map(this::copyOf);
+    }
+
+    /**
+     * Persistent-tier lookup; a hit is promoted to memory.
+     * Blocks on JDBC, so it must not run on an event-loop thread.
+     */
+    public Optional<AIAnalysisResponse> getFromStore(String imageHash) {
+        if (!persistent) {
+            return Optional.empty();
+        }
+        return imageAnalysisCacheRepository.findById(imageHash).map(entry -> {
+            AIAnalysisResponse response = fromEntry(entry);
+            memory.put(imageHash, response);
+            return copyOf(response);
+        });
+    }
+
+    /**
+     * Stores in memory right away; the persistent write runs in the background
+     * so callers on an event-loop thread never wait on JDBC.
+     */
+    public void put(String imageHash, AIAnalysisResponse response) {
+        AIAnalysisResponse stored = copyOf(response);
+        memory.put(imageHash, stored);
+        if (persistent) {
+            try {
+                Schedulers.boundedElastic().schedule(() -> {
+                    try {
+                        imageAnalysisCacheRepository.save(toEntry(imageHash, stored));
+                    } catch (Exception e) {
+                        storeFailed(imageHash, e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // The memory tier still has the result; only the persistent copy is lost
+                storeFailed(imageHash, e);
+            }
+        }
+    }
+
+    public CacheStats getStats() {
+        return memory.stats();
+    }
+
+    private void storeFailed(String imageHash, Exception e) {
+        System.err.println("Failed to persist image analysis for " + imageHash + ": " + e.getMessage());
+        meterRegistry.counter("styleai.image-cache.store.failures").increment();
+    }
+
+    private AIAnalysisResponse copyOf(AIAnalysisResponse source) {
+        AIAnalysisResponse copy = new AIAnalysisResponse();
+        copy.setName(source.getName());
+        copy.setCategory(source.getCategory());
+        copy.setColor(source.getColor());
+        copy.setMaterial(source.getMaterial());
+        copy.setSeasons(source.getSeasons() == null ? null : new ArrayList<>(source.getSeasons()));
+        copy.setDataAiHint(source.getDataAiHint());
+        return copy;
+    }
+
+    private AIAnalysisResponse fromEntry(ImageAnalysisCacheEntry entry) {
+        AIAnalysisResponse response = new AIAnalysisResponse();
+        response.setName(entry.getName());
+        response.setCategory(entry.getCategory());
+        response.setColor(entry.getColor());
+        response.setMaterial(entry.getMaterial());
+        response.setSeasons(entry.getSeasons() == null || entry.getSeasons().isEmpty()
+                ? new ArrayList<>()
+                : new ArrayList<>(Arrays.asList(entry.getSeasons().split(","))));
+        response.setDataAiHint(entry.getDataAiHint());
+        return response;
+    }
+
+    private ImageAnalysisCacheEntry toEntry(String imageHash, AIAnalysisResponse response) {
+        ImageAnalysisCacheEntry entry = new ImageAnalysisCacheEntry();
+        entry.setImageHash(imageHash);
+        entry.setName(response.getName());
+        entry.setCategory(response.getCategory());
+        entry.setColor(response.getColor());
+        entry.setMaterial(response.getMaterial());
+        entry.setSeasons(response.getSeasons() == null ? null : String.join(",", response.getSeasons()));
+        entry.setDataAiHint(response.getDataAiHint());
+        return entry;
+    }
+}
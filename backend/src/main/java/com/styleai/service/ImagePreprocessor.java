@@ -0,0 +1,133 @@
+package com.styleai.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+
+/**
+ * Shrinks uploaded photos to what the vision model needs before upload.
+ *
+ * The image is decoded straight from the request stream with source
+ * subsampling, so a large photo never exists at full resolution on the
+ * heap. It is then scaled to fit ai.image.max-dimension and re-encoded as
+ * JPEG through a base64 encoder, so the raw JPEG bytes are never held
+ * separately from their base64 text. The SHA-256 of the original bytes is
+ * computed on the way in for the analysis cache.
+ */
+@Component
+public class ImagePreprocessor {
+
+    private static final int INITIAL_BUFFER_SIZE = 256 * 1024;
+
+    @Value("${ai.image.max-dimension:768}")
+    private int maxDimension;
+
+    @Value("${ai.image.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    /**
+     * Base64 JPEG ready for the Gemini request and the hex SHA-256 of the uploaded bytes.
+     */
+    public record PreparedImage(String base64Jpeg, String sourceHash) {}
+
+    public PreparedImage prepare(InputStream imageStream) throws IOException {
+        MessageDigest digest = sha256();
+        BufferedImage scaled;
+        try (DigestInputStream source = new DigestInputStream(imageStream, digest)) {
+            scaled = scaleToFit(decodeSubsampled(source));
+            // The decoder may stop before trailing bytes; the hash covers the whole upload
+            source.transferTo(OutputStream.nullOutputStream());
+        }
+        String sourceHash = HexFormat.of().formatHex(digest.digest());
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        try (OutputStream base64 = Base64.getEncoder().wrap(buffer)) {
+            writeJpeg(scaled, base64);
+        }
+        return new PreparedImage(buffer.toString(StandardCharsets.US_ASCII), sourceHash);
+    }
+
+    private BufferedImage decodeSubsampled(InputStream source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+
+                // Subsample during decode to within 2x of the target, the final scale is done below
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longestSide / (maxDimension * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scaleToFit(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        // JPEG has no alpha channel, so always redraw onto an RGB canvas
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void writeJpeg(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.styleai.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Classifies clothing item names by keyword: category, color, material and seasons.
+ *
+ * Every keyword in the dictionary (ai.classifier.dictionary) is compiled once
+ * into an Aho-Corasick automaton, so a name is classified in a single pass over
+ * its characters however many keywords there are. Keywords match anywhere in
+ * the name, case-insensitively.
+ *
+ * When several values of one dimension match, the one listed first in the
+ * dictionary wins, independent of where it appears in the name. Seasons come
+ * from the first season rule that applies; a rule applies when its scope (a
+ * category or scope keyword, if it has one) and any of its keywords (if it has
+ * any) match.
+ */
+@Component
+public class KeywordClassifier {
+
+    @Value("${ai.classifier.dictionary:classpath:clothing-keywords.json}")
+    private Resource dictionaryResource;
+
+    private volatile Compiled compiled;
+
+    public record Classification(String category, String color, String material, List<String> seasons) {}
+
+    /**
+     * Dictionary file layout; values within each list are in priority order.
+     */
+    record Dictionary(List<Group> categories, String defaultCategory,
+                      List<Group> colors, String defaultColor,
+                      List<Group> materials,
+                      List<SeasonRule> seasonRules, List<String> defaultSeasons) {}
+
+    record Group(String value, List<String> keywords) {}
+
+    record SeasonRule(List<String> seasons, List<String> scopeCategories,
+                      List<String> scopeKeywords, List<String> keywords) {}
+
+    @PostConstruct
+    public void load() {
+        ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        try (InputStream in = dictionaryResource.getInputStream()) {
+            compiled = new Compiled(mapper.readValue(in, Dictionary.class));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read keyword dictionary " + dictionaryResource, e);
+        }
+    }
+
+    public Classification classify(String itemName) {
+        return compiled.classify(itemName);
+    }
+
+    /**
+     * Classifies each name in order; the automaton is shared, so a batch costs
+     * one pass per name and nothing per keyword.
+     */
+    public List<Classification> classifyAll(List<String> itemNames) {
+        Compiled current = compiled;
+        List<Classification> results = new ArrayList<>(itemNames.size());
+        for (String itemName : itemNames) {
+            results.add(current.classify(itemName));
+        }
+        return results;
+    }
+
+    /**
+     * The automaton plus the per-dimension tables it reports into.
+     * Immutable once built, so classification needs no locking.
+     */
+    private static final class Compiled {
+
+        private static final int NONE = Integer.MAX_VALUE;
+
+        private final String[] categories;
+        private final String defaultCategory;
+        private final String[] colors;
+        private final String defaultColor;
+        private final String[] materials;
+        private final List<String>[] ruleSeasons;
+        private final List<String> defaultSeasons;
+        // Per rule: category indexes and signal ids of its scope, signal ids of its keywords
+        private final int[][] ruleScopeCategories;
+        private final int[][] ruleScopeSignals;
+        private final int[][] ruleSignals;
+        private final int signalCount;
+
+        // Symbol of each ASCII character; non-ASCII keyword characters are looked up in extraChars
+        private final int[] asciiSymbols = new int[128];
+        private final int asciiSymbolCount;
+        private final char[] extraChars;
+        private final int[][] next;
+        // Best (lowest) priority reported on reaching each state, NONE if none
+        private final int[] stateCategory;
+        private final int[] stateColor;
+        private final int[] stateMaterial;
+        // Season signals reported on reaching each state, null if none
+        private final int[][] stateSignals;
+
+        @SuppressWarnings("unchecked")
+        Compiled(Dictionary dictionary) {
+            List<Group> categoryGroups = orEmpty(dictionary.categories());
+            List<Group> colorGroups = orEmpty(dictionary.colors());
+            List<Group> materialGroups = orEmpty(dictionary.materials());
+            List<SeasonRule> rules = orEmpty(dictionary.seasonRules());
+
+            categories = values(categoryGroups);
+            defaultCategory = dictionary.defaultCategory();
+            colors = values(colorGroups);
+            defaultColor = dictionary.defaultColor();
+            materials = values(materialGroups);
+            defaultSeasons = dictionary.defaultSeasons() == null ? List.of() : List.copyOf(dictionary.defaultSeasons());
+
+            // Each distinct keyword becomes one pattern carrying what it reports in every dimension
+            Map<String, Pattern> patterns = new LinkedHashMap<>();
+            addGroups(patterns, categoryGroups, 0);
+            addGroups(patterns, colorGroups, 1);
+            addGroups(patterns, materialGroups, 2);
+
+            Map<String, Integer> signalIds = new HashMap<>();
+            ruleSeasons = new List[rules.size()];
+            ruleScopeCategories = new int[rules.size()][];
+            ruleScopeSignals = new int[rules.size()][];
+            ruleSignals = new int[rules.size()][];
+            for (int r = 0; r < rules.size(); r++) {
+                SeasonRule rule = rules.get(r);
+                ruleSeasons[r] = List.copyOf(orEmpty(rule.seasons()));
+                ruleScopeCategories[r] = orEmpty(rule.scopeCategories()).stream()
+                        .mapToInt(category -> Arrays.asList(categories).indexOf(category))
+                        .filter(index -> index >= 0)
+                        .toArray();
+                ruleScopeSignals[r] = signals(patterns, signalIds, rule.scopeKeywords());
+                ruleSignals[r] = signals(patterns, signalIds, rule.keywords());
+            }
+            signalCount = signalIds.size();
+
+            // Alphabet: every character used by a keyword; anything else leads back to the root
+            TreeSet<Character> alphabet = new TreeSet<>();
+            for (String keyword : patterns.keySet()) {
+                for (char c : keyword.toCharArray()) {
+                    alphabet.add(c);
+                }
+            }
+            int symbol = 1;
+            List<Character> extra = new ArrayList<>();
+            for (char c : alphabet) {
+                if (c < 128) {
+                    asciiSymbols[c] = symbol++;
+                } else {
+                    extra.add(c);
+                }
+            }
+            extraChars = new char[extra.size()];
+            for (int i = 0; i < extraChars.length; i++) {
+                extraChars[i] = extra.get(i);
+            }
+            asciiSymbolCount = symbol;
+            int symbolCount = asciiSymbolCount + extraChars.length;
+
+            // Trie of all keywords; 0 in a transition means "no edge" until the automaton is completed
+            List<int[]> trie = new ArrayList<>();
+            List<List<Pattern>> ends = new ArrayList<>();
+            trie.add(new int[symbolCount]);
+            ends.add(new ArrayList<>());
+            for (Pattern pattern : patterns.values()) {
+                int state = 0;
+                for (char c : pattern.keyword.toCharArray()) {
+                    int s = c < 128 ? asciiSymbols[c] : asciiSymbolCount + Arrays.binarySearch(extraChars, c);
+                    if (trie.get(state)[s] == 0) {
+                        trie.get(state)[s] = trie.size();
+                        trie.add(new int[symbolCount]);
+                        ends.add(new ArrayList<>());
+                    }
+                    state = trie.get(state)[s];
+                }
+                ends.get(state).add(pattern);
+            }
+
+            int states = trie.size();
+            next = trie.toArray(new int[states][]);
+            stateCategory = new int[states];
+            stateColor = new int[states];
+            stateMaterial = new int[states];
+            stateSignals = new int[states][];
+            int[] fail = new int[states];
+            report(0, ends.get(0), -1);
+
+            // Breadth-first: fill missing edges from the failure state so every step is one table lookup,
+            // and inherit the failure state's reports so suffix matches are not lost
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int s = 1; s < symbolCount; s++) {
+                int child = next[0][s];
+                if (child != 0) {
+                    fail[child] = 0;
+                    queue.add(child);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                report(state, ends.get(state), fail[state]);
+                for (int s = 1; s < symbolCount; s++) {
+                    int child = next[state][s];
+                    if (child != 0) {
+                        fail[child] = next[fail[state]][s];
+                        queue.add(child);
+                    } else {
+                        next[state][s] = next[fail[state]][s];
+                    }
+                }
+            }
+        }
+
+        Classification classify(String itemName) {
+            int category = NONE;
+            int color = NONE;
+            int material = NONE;
+            boolean[] signals = signalCount == 0 ? null : new boolean[signalCount];
+
+            int state = 0;
+            for (int i = 0, n = itemName.length(); i < n; i++) {
+                char c = Character.toLowerCase(itemName.charAt(i));
+                int symbol;
+                if (c < 128) {
+                    symbol = asciiSymbols[c];
+                } else {
+                    int extra = Arrays.binarySearch(extraChars, c);
+                    symbol = extra < 0 ? 0 : asciiSymbolCount + extra;
+                }
+                state = symbol == 0 ? 0 : next[state][symbol];
+
+                category = Math.min(category, stateCategory[state]);
+                color = Math.min(color, stateColor[state]);
+                material = Math.min(material, stateMaterial[state]);
+                int[] reached = stateSignals[state];
+                if (reached != null) {
+                    for (int signal : reached) {
+                        signals[signal] = true;
+                    }
+                }
+            }
+
+            return new Classification(
+                    category == NONE ? defaultCategory : categories[category],
+                    color == NONE ? defaultColor : colors[color],
+                    material == NONE ? null : materials[material],
+                    seasons(category, signals));
+        }
+
+        private List<String> seasons(int category, boolean[] signals) {
+            for (int r = 0; r < ruleSeasons.length; r++) {
+                boolean hasScope = ruleScopeCategories[r].length > 0 || ruleScopeSignals[r].length > 0;
+                boolean inScope = !hasScope
+                        || contains(ruleScopeCategories[r], category)
+                        || any(ruleScopeSignals[r], signals);
+                if (inScope && (ruleSignals[r].length == 0 || any(ruleSignals[r], signals))) {
+                    return ruleSeasons[r];
+                }
+            }
+            return defaultSeasons;
+        }
+
+        private void report(int state, List<Pattern> ending, int failState) {
+            int category = failState < 0 ? NONE : stateCategory[failState];
+            int color = failState < 0 ? NONE : stateColor[failState];
+            int material = failState < 0 ? NONE : stateMaterial[failState];
+            TreeSet<Integer> signals = new TreeSet<>();
+            if (failState >= 0 && stateSignals[failState] != null) {
+                for (int signal : stateSignals[failState]) {
+                    signals.add(signal);
+                }
+            }
+            for (Pattern pattern : ending) {
+                category = Math.min(category, pattern.priorities[0]);
+                color = Math.min(color, pattern.priorities[1]);
+                material = Math.min(material, pattern.priorities[2]);
+                if (pattern.signal >= 0) {
+                    signals.add(pattern.signal);
+                }
+            }
+            stateCategory[state] = category;
+            stateColor[state] = color;
+            stateMaterial[state] = material;
+            stateSignals[state] = signals.isEmpty() ? null : signals.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private static void addGroups(Map<String, Pattern> patterns, List<Group> groups, int dimension) {
+            for (int priority = 0; priority < groups.size(); priority++) {
+                for (String keyword : orEmpty(groups.get(priority).keywords())) {
+                    Pattern pattern = pattern(patterns, keyword);
+                    if (pattern != null) {
+                        pattern.priorities[dimension] = Math.min(pattern.priorities[dimension], priority);
+                    }
+                }
+            }
+        }
+
+        private static int[] signals(Map<String, Pattern> patterns, Map<String, Integer> signalIds, List<String> keywords) {
+            return orEmpty(keywords).stream()
+                    .map(keyword -> pattern(patterns, keyword))
+                    .filter(pattern -> pattern != null)
+                    .mapToInt(pattern -> {
+                        if (pattern.signal < 0) {
+                            pattern.signal = signalIds.size();
+                            signalIds.put(pattern.keyword, pattern.signal);
+                        }
+                        return pattern.signal;
+                    })
+                    .distinct()
+                    .toArray();
+        }
+
+        private static Pattern pattern(Map<String, Pattern> patterns, String keyword) {
+            if (keyword == null || keyword.isBlank()) {
+                return null;
+            }
+            String normalized = keyword.toLowerCase(Locale.ROOT);
+            return patterns.computeIfAbsent(normalized, Pattern::new);
+        }
+
+        private static String[] values(List<Group> groups) {
+            return groups.stream().map(Group::value).toArray(String[]::new);
+        }
+
+        private static boolean contains(int[] values, int value) {
+            for (int v : values) {
+                if (v == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean any(int[] signalIds, boolean[] signals) {
+            for (int signal : signalIds) {
+                if (signals[signal]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static <T> List<T> orEmpty(List<T> list) {
+            return list == null ? List.of() : list;
+        }
+    }
+
+    /**
+     * One distinct keyword: its priority in each dimension (NONE if it does not
+     * name a value there) and its season signal id (-1 if no rule uses it).
+     */
+    private static final class Pattern {
+        final String keyword;
+        final int[] priorities = {Compiled.NONE, Compiled.NONE, Compiled.NONE};
+        int signal = -1;
+
+        Pattern(String keyword) {
+            this.keyword = keyword;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.styleai.service;
+
+import com.styleai.dto.ClosetItemDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Builds complete outfits from a closet and ranks them.
+ *
+ * An outfit is either a top and a bottom or a dress, plus shoes when the
+ * closet has any, plus outerwear when it is cold (optional when mild,
+ * left out when hot). Each item gets a score for season, weather and how
+ * long ago it was last worn; every pair of pieces adds a color harmony score.
+ *
+ * The search is branch-and-bound: candidates in each slot are sorted by
+ * score, and a branch is cut as soon as the best it could still reach does
+ * not beat the current k-th best outfit.
+ *
+ * Templates with a large search space (the product of their slot sizes)
+ * are split by anchor item (each top or dress) and searched on a bounded
+ * ForkJoinPool. Every task keeps its own top-k heap and the heaps are merged
+ * on join; smaller templates stay on the calling thread.
+ */
+@Component
+public class OutfitCombinator {
+
+    static final double SEASON_WEIGHT = 2.0;
+    static final double WEATHER_WEIGHT = 2.0;
+    static final double RECENCY_WEIGHT = 1.0;
+    static final double MAX_HARMONY = 1.0;
+
+    // Keeps the worst case bounded when many items score the same
+    static final int MAX_CANDIDATES_PER_SLOT = 30;
+
+    // Defaults shared by the @Value placeholders and the field initializers,
+    // so an instance built without Spring behaves like the bean
+    static final int DEFAULT_PARALLELISM = 0;
+    // Above the largest template the default cap allows (30 x 30 x 30 x 31), where the
+    // sequential search already takes well under a millisecond; see OutfitSuggestionBenchmark
+    static final int DEFAULT_PARALLEL_THRESHOLD = 1_000_000;
+
+    // Anchors searched by one task before it stops splitting
+    private static final int ANCHORS_PER_TASK = 2;
+
+    private static final int RECENCY_HORIZON_DAYS = 30;
+    private static final double COLD_BELOW = 10.0;
+    private static final double HOT_ABOVE = 25.0;
+
+    private static final Set<String> NEUTRAL_COLORS = new HashSet<>(Arrays.asList(
+        "black", "white", "gray", "grey", "navy", "beige", "brown", "cream", "tan", "denim"
+    ));
+
+    @Value("${ai.outfit.max-candidates-per-slot:" + MAX_CANDIDATES_PER_SLOT + "}")
+    private int maxCandidatesPerSlot = MAX_CANDIDATES_PER_SLOT;
+
+    @Value("${ai.outfit.parallelism:" + DEFAULT_PARALLELISM + "}")
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    // Outfit combinations in a template, not closet items
+    @Value("${ai.outfit.parallel-threshold:" + DEFAULT_PARALLEL_THRESHOLD + "}")
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void startPool() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        if (threads > 1) {
+            pool = new ForkJoinPool(threads);
+        }
+    }
+
+    @PreDestroy
+    public void stopPool() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * One item with its precomputed standalone score.
+     */
+    static final class Candidate {
+        final ClosetItemDTO item;
+        final double score;
+        final String color;
+
+        Candidate(ClosetItemDTO item, double score) {
+            this.item = item;
+            this.score = score;
+            this.color = item.getColor() == null ? "" : item.getColor().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * A ranked outfit: item ids in slot order and the total score.
+     */
+    public static final class ScoredOutfit {
+        private final List<Long> itemIds;
+        private final double score;
+
+        ScoredOutfit(List<Long> itemIds, double score) {
+            this.itemIds = itemIds;
+            this.score = score;
+        }
+
+        public List<Long> getItemIds() { return itemIds; }
+        public double getScore() { return score; }
+    }
+
+    /**
+     * The slots of one outfit template, in search order.
+     */
+    static final class Template {
+        final List<List<Candidate>> slots;
+        final boolean[] optional;
+
+        Template(List<List<Candidate>> slots, boolean[] optional) {
+            this.slots = slots;
+            this.optional = optional;
+        }
+    }
+
+    /**
+     * Returns up to k outfits, best first.
+     */
+    public List<ScoredOutfit> topOutfits(List<ClosetItemDTO> items, double temperature, String condition,
+                                         LocalDate today, int k) {
+        List<ScoredOutfit> ranked = new ArrayList<>();
+        if (items == null || items.isEmpty() || k <= 0) {
+            return ranked;
+        }
+
+        PriorityQueue<ScoredOutfit> best = newTopK();
+        for (Template template : buildTemplates(items, temperature, condition, today)) {
+            double[] bounds = suffixBounds(template);
+            if (pool != null && searchSpace(template) >= parallelThreshold) {
+                AnchorTask task = new AnchorTask(template, bounds, k, 0, template.slots.get(0).size());
+                pool.invoke(task).forEach(outfit -> offer(best, outfit, k));
+            } else {
+                search(template, 0, new Candidate[template.slots.size()], 0, 0.0, bounds, best, k);
+            }
+        }
+
+        ranked.addAll(best);
+        ranked.sort(Comparator.comparingDouble(ScoredOutfit::getScore).reversed());
+        return ranked;
+    }
+
+    List<Template> buildTemplates(List<ClosetItemDTO> items, double temperature, String condition, LocalDate today) {
+        String season = seasonOf(today);
+        boolean raining = condition != null && condition.toLowerCase(Locale.ROOT).contains("rain");
+
+        List<Candidate> tops = new ArrayList<>();
+        List<Candidate> bottoms = new ArrayList<>();
+        List<Candidate> dresses = new ArrayList<>();
+        List<Candidate> shoes = new ArrayList<>();
+        List<Candidate> outerwear = new ArrayList<>();
+
+        for (ClosetItemDTO item : items) {
+            if (item == null || item.getId() == null || item.getCategory() == null) {
+                continue;
+            }
+            Candidate candidate = new Candidate(item, itemScore(item, season, temperature, raining, today));
+            switch (item.getCategory()) {
+                case "Tops" -> tops.add(candidate);
+                case "Bottoms" -> bottoms.add(candidate);
+                case "Dresses" -> dresses.add(candidate);
+                case "Shoes" -> shoes.add(candidate);
+                case "Outerwear" -> outerwear.add(candidate);
+                default -> { }
+            }
+        }
+
+        List<Candidate> shoeSlot = prepare(shoes);
+        List<Candidate> outerSlot = temperature > HOT_ABOVE ? List.of() : prepare(outerwear);
+        boolean outerRequired = (temperature < COLD_BELOW || raining) && !outerSlot.isEmpty();
+
+        List<Template> templates = new ArrayList<>();
+        if (!tops.isEmpty() && !bottoms.isEmpty()) {
+            templates.add(template(List.of(prepare(tops), prepare(bottoms)), shoeSlot, outerSlot, outerRequired));
+        }
+        if (!dresses.isEmpty()) {
+            templates.add(template(List.of(prepare(dresses)), shoeSlot, outerSlot, outerRequired));
+        }
+        return templates;
+    }
+
+    double itemScore(ClosetItemDTO item, String season, double temperature, boolean raining, LocalDate today) {
+        List<String> seasons = item.getSeasons() == null ? List.of() : item.getSeasons();
+        boolean allSeasons = seasons.contains("All");
+
+        double score = 0.0;
+        if (allSeasons || seasons.contains(season)) {
+            score += SEASON_WEIGHT;
+        }
+
+        if (allSeasons || seasons.stream().anyMatch(s -> suitsTemperature(s, temperature))) {
+            score += WEATHER_WEIGHT;
+        }
+        if ("Outerwear".equals(item.getCategory()) && (temperature < COLD_BELOW || raining)) {
+            score += WEATHER_WEIGHT;
+        }
+
+        if (item.getLastWorn() == null) {
+            score += RECENCY_WEIGHT;
+        } else {
+            long days = ChronoUnit.DAYS.between(item.getLastWorn(), today);
+            score += RECENCY_WEIGHT * Math.max(0, Math.min(days, RECENCY_HORIZON_DAYS)) / RECENCY_HORIZON_DAYS;
+        }
+        return score;
+    }
+
+    static double harmony(String a, String b) {
+        if (NEUTRAL_COLORS.contains(a) || NEUTRAL_COLORS.contains(b)) {
+            return MAX_HARMONY;
+        }
+        if (a.equals(b)) {
+            return 0.6;
+        }
+        return 0.2;
+    }
+
+    static String seasonOf(LocalDate date) {
+        return switch (date.getMonth()) {
+            case MARCH, APRIL, MAY -> "Spring";
+            case JUNE, JULY, AUGUST -> "Summer";
+            case SEPTEMBER, OCTOBER, NOVEMBER -> "Autumn";
+            default -> "Winter";
+        };
+    }
+
+    private static boolean suitsTemperature(String season, double temperature) {
+        if (temperature < COLD_BELOW) {
+            return "Winter".equals(season) || "Autumn".equals(season);
+        }
+        if (temperature > HOT_ABOVE) {
+            return "Summer".equals(season) || "Spring".equals(season);
+        }
+        return "Spring".equals(season) || "Autumn".equals(season);
+    }
+
+    static PriorityQueue<ScoredOutfit> newTopK() {
+        return new PriorityQueue<>(Comparator.comparingDouble(ScoredOutfit::getScore));
+    }
+
+    static void offer(PriorityQueue<ScoredOutfit> best, ScoredOutfit outfit, int k) {
+        if (best.size() < k) {
+            best.add(outfit);
+        } else if (outfit.getScore() > best.peek().getScore()) {
+            best.poll();
+            best.add(outfit);
+        }
+    }
+
+    /**
+     * Number of outfits the template can form before pruning; an optional
+     * slot adds the choice of leaving it empty.
+     */
+    static double searchSpace(Template template) {
+        double combinations = 1.0;
+        for (int depth = 0; depth < template.slots.size(); depth++) {
+            combinations *= template.slots.get(depth).size() + (template.optional[depth] ? 1 : 0);
+        }
+        return combinations;
+    }
+
+    /**
+     * Upper bound on what slots depth..end can still add: the best standalone
+     * score in each slot plus full harmony with every piece before it.
+     */
+    static double[] suffixBounds(Template template) {
+        int size = template.slots.size();
+        double[] bounds = new double[size + 1];
+        for (int depth = size - 1; depth >= 0; depth--) {
+            List<Candidate> slot = template.slots.get(depth);
+            double bestItem = slot.isEmpty() ? 0.0 : slot.get(0).score;
+            if (template.optional[depth]) {
+                bestItem = Math.max(bestItem, 0.0);
+            }
+            bounds[depth] = bounds[depth + 1] + bestItem + depth * MAX_HARMONY;
+        }
+        return bounds;
+    }
+
+    static void search(Template template, int depth, Candidate[] chosen, int chosenCount, double score,
+                       double[] bounds, PriorityQueue<ScoredOutfit> best, int k) {
+        if (depth == template.slots.size()) {
+            List<Long> itemIds = new ArrayList<>(chosenCount);
+            for (int i = 0; i < chosenCount; i++) {
+                itemIds.add(chosen[i].item.getId());
+            }
+            offer(best, new ScoredOutfit(itemIds, score), k);
+            return;
+        }
+
+        for (Candidate candidate : template.slots.get(depth)) {
+            double threshold = best.size() < k ? Double.NEGATIVE_INFINITY : best.peek().getScore();
+            // Slots are sorted, so once the optimistic bound fails the rest of the slot fails too
+            if (score + candidate.score + chosenCount * MAX_HARMONY + bounds[depth + 1] <= threshold) {
+                break;
+            }
+
+            double gained = candidate.score;
+            for (int i = 0; i < chosenCount; i++) {
+                gained += harmony(chosen[i].color, candidate.color);
+            }
+            chosen[chosenCount] = candidate;
+            search(template, depth + 1, chosen, chosenCount + 1, score + gained, bounds, best, k);
+        }
+
+        double threshold = best.size() < k ? Double.NEGATIVE_INFINITY : best.peek().getScore();
+        if (template.optional[depth] && score + bounds[depth + 1] > threshold) {
+            search(template, depth + 1, chosen, chosenCount, score, bounds, best, k);
+        }
+    }
+
+    /**
+     * Searches the anchors [from, to) of the first slot, splitting in halves
+     * until each task holds only a few anchors.
+     */
+    static final class AnchorTask extends RecursiveTask<PriorityQueue<ScoredOutfit>> {
+        private final Template template;
+        private final double[] bounds;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        AnchorTask(Template template, double[] bounds, int k, int from, int to) {
+            this.template = template;
+            this.bounds = bounds;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PriorityQueue<ScoredOutfit> compute() {
+            if (to - from <= ANCHORS_PER_TASK) {
+                PriorityQueue<ScoredOutfit> local = newTopK();
+                Candidate[] chosen = new Candidate[template.slots.size()];
+                for (int i = from; i < to; i++) {
+                    Candidate anchor = template.slots.get(0).get(i);
+                    double threshold = local.size() < k ? Double.NEGATIVE_INFINITY : local.peek().getScore();
+                    if (anchor.score + bounds[1] <= threshold) {
+                        break;
+                    }
+                    chosen[0] = anchor;
+                    search(template, 1, chosen, 1, anchor.score, bounds, local, k);
+                }
+                return local;
+            }
+
+            int middle = (from + to) >>> 1;
+            AnchorTask left = new AnchorTask(template, bounds, k, from, middle);
+            AnchorTask right = new AnchorTask(template, bounds, k, middle, to);
+            left.fork();
+            PriorityQueue<ScoredOutfit> merged = right.compute();
+            left.join().forEach(outfit -> offer(merged, outfit, k));
+            return merged;
+        }
+    }
+
+    private static Template template(List<List<Candidate>> base, List<Candidate> shoes,
+                                     List<Candidate> outerwear, boolean outerRequired) {
+        List<List<Candidate>> slots = new ArrayList<>(base);
+        List<Boolean> optional = new ArrayList<>();
+        base.forEach(slot -> optional.add(false));
+        if (!shoes.isEmpty()) {
+            slots.add(shoes);
+            optional.add(false);
+        }
+        if (!outerwear.isEmpty()) {
+            slots.add(outerwear);
+            optional.add(!outerRequired);
+        }
+
+        boolean[] flags = new boolean[optional.size()];
+        for (int i = 0; i < flags.length; i++) {
+            flags[i] = optional.get(i);
+        }
+        return new Template(slots, flags);
+    }
+
+    private List<Candidate> prepare(List<Candidate> candidates) {
+        candidates.sort(Comparator.comparingDouble((Candidate c) -> c.score).reversed());
+        return candidates.size() > maxCandidatesPerSlot
+            ? new ArrayList<>(candidates.subList(0, maxCandidatesPerSlot))
+            : candidates;
+    }
+}
@@ -3,6 +3,7 @@ package com.styleai.service;
 import com.styleai.dto.OutfitDTO;
 import com.styleai.entity.Outfit;
 import com.styleai.repository.OutfitRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -11,6 +12,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("styleai.service")
 public class OutfitService {
 
     @Autowired
@@ -50,7 +52,7 @@ public class OutfitService {
         return false;
     }
 
-    private OutfitDTO convertToDTO(Outfit outfit) {
+    public OutfitDTO convertToDTO(Outfit outfit) {
         OutfitDTO dto = new OutfitDTO();
         dto.setId(outfit.getId());
         dto.setName(outfit.getName());
@@ -1,22 +1,59 @@
 package com.styleai.service;
 
+import com.styleai.dto.CalendarDTO;
 import com.styleai.dto.PlannedEventDTO;
+import com.styleai.entity.ClosetItem;
+import com.styleai.entity.Outfit;
 import com.styleai.entity.PlannedEvent;
+import com.styleai.repository.ClosetItemRepository;
+import com.styleai.repository.OutfitRepository;
 import com.styleai.repository.PlannedEventRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("styleai.service")
 public class PlannedEventService {
 
     @Autowired
     private PlannedEventRepository plannedEventRepository;
 
+    @Autowired
+    private WearLogService wearLogService;
+
+    @Autowired
+    private OutfitRepository outfitRepository;
+
+    @Autowired
+    private ClosetItemRepository closetItemRepository;
+
+    @Autowired
+    private OutfitService outfitService;
+
+    @Autowired
+    private ClosetItemService closetItemService;
+
+    /**
+     * Calendar payload with a validator derived from the id and last update
+     * time of every row it contains.
+     */
+    public record CalendarView(CalendarDTO calendar, String etag) {}
+
     public List<PlannedEventDTO> getAllEvents() {
         return plannedEventRepository.findAll().stream()
                 .map(this::convertToDTO)
@@ -40,6 +77,42 @@ public class PlannedEventService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Events in the range with their outfits and items, loaded with three
+     * queries regardless of how many events the range holds.
+     */
+    @Transactional(readOnly = true)
+    public CalendarView getCalendar(LocalDate startDate, LocalDate endDate) {
+        List<PlannedEvent> events = plannedEventRepository.findCalendarRange(startDate, endDate);
+
+        Set<Long> outfitIds = new LinkedHashSet<>();
+        events.forEach(event -> outfitIds.add(event.getOutfitId()));
+        List<Outfit> outfits = outfitIds.isEmpty() ? List.of() : outfitRepository.findByIdIn(outfitIds);
+        outfits = outfits.stream().sorted(Comparator.comparing(Outfit::getId)).collect(Collectors.toList());
+
+        Set<Long> itemIds = new LinkedHashSet<>();
+        outfits.forEach(outfit -> {
+            if (outfit.getItemIds() != null) {
+                itemIds.addAll(outfit.getItemIds());
+            }
+        });
+        List<ClosetItem> items = itemIds.isEmpty() ? List.of() : closetItemRepository.findByIdIn(itemIds);
+        items = items.stream().sorted(Comparator.comparing(ClosetItem::getId)).collect(Collectors.toList());
+
+        CalendarDTO calendar = new CalendarDTO();
+        calendar.setStartDate(startDate);
+        calendar.setEndDate(endDate);
+        calendar.setEvents(events.stream().map(this::convertToDTO).collect(Collectors.toList()));
+        calendar.setOutfits(outfits.stream().map(outfitService::convertToDTO).collect(Collectors.toList()));
+        calendar.setItems(items.stream().map(closetItemService::convertToDTO).collect(Collectors.toList()));
+
+        StringBuilder version = new StringBuilder().append(startDate).append('/').append(endDate);
+        events.forEach(event -> version.append("|e").append(event.getId()).append(':').append(event.getUpdatedAt()));
+        outfits.forEach(outfit -> version.append("|o").append(outfit.getId()).append(':').append(outfit.getUpdatedAt()));
+        items.forEach(item -> version.append("|i").append(item.getId()).append(':').append(item.getUpdatedAt()));
+        return new CalendarView(calendar, sha256Hex(version.toString()));
+    }
+
     public PlannedEventDTO createEvent(PlannedEventDTO eventDTO) {
         PlannedEvent event = convertToEntity(eventDTO);
         PlannedEvent savedEvent = plannedEventRepository.save(event);
@@ -55,6 +128,24 @@ public class PlannedEventService {
                 });
     }
 
+    /**
+     * Marks the event as worn and logs a wear for each item of its outfit.
+     * Completing an event twice has no further effect; the row lock makes a
+     * concurrent second completion wait and then see completedAt set.
+     */
+    @Transactional
+    public Optional<PlannedEventDTO> completeEvent(Long id) {
+        return plannedEventRepository.findByIdForUpdate(id)
+                .map(event -> {
+                    if (event.getCompletedAt() == null) {
+                        event.setCompletedAt(LocalDateTime.now());
+                        plannedEventRepository.save(event);
+                        wearLogService.recordEventWorn(event);
+                    }
+                    return convertToDTO(event);
+                });
+    }
+
     public boolean deleteEvent(Long id) {
         if (plannedEventRepository.existsById(id)) {
             plannedEventRepository.deleteById(id);
@@ -73,6 +164,15 @@ public class PlannedEventService {
         return false;
     }
 
+    private static String sha256Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     private PlannedEventDTO convertToDTO(PlannedEvent event) {
         PlannedEventDTO dto = new PlannedEventDTO();
         dto.setId(event.getId());
@@ -80,6 +180,7 @@ public class PlannedEventService {
         dto.setOccasion(event.getOccasion());
         dto.setOutfitId(event.getOutfitId());
         dto.setTimesOfDay(event.getTimesOfDay());
+        dto.setCompletedAt(event.getCompletedAt());
         return dto;
     }
 
@@ -3,6 +3,7 @@ package com.styleai.service;
 import com.styleai.dto.UserProfileDTO;
 import com.styleai.entity.UserProfile;
 import com.styleai.repository.UserProfileRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -11,6 +12,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("styleai.service")
 public class UserProfileService {
 
     @Autowired
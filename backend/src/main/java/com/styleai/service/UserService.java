@@ -1,20 +1,32 @@
 package com.styleai.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.styleai.dto.AuthRequest;
 import com.styleai.dto.AuthResponse;
 import com.styleai.dto.SignUpRequest;
+import com.styleai.dto.UserDTO;
 import com.styleai.entity.User;
 import com.styleai.repository.UserRepository;
+import com.styleai.security.JwtPrincipal;
 import com.styleai.security.JwtUtils;
+import com.styleai.security.PrincipalMode;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Optional;
 
@@ -25,17 +37,46 @@ import java.util.Optional;
  * 
  * IMPORTANT: To break circular dependency, this service uses setter injection
  * for AuthenticationManager, which is only needed for sign-in operations.
+ *
+ * User details are cached briefly so authenticated requests do not query
+ * the users table every time. Only the email and password hash are cached,
+ * and the entry is evicted when updatePassword changes the hash. A change
+ * made anywhere else, such as another instance or a direct database write,
+ * is picked up once the entry expires, so a stale entry lives at most
+ * auth.user-cache.ttl.
+ *
+ * Stored hashes below the configured BCrypt strength are re-encoded on a
+ * successful sign-in through updatePassword.
  */
 @Service
-public class UserService implements UserDetailsService {
+@Timed("styleai.service")
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
+    private final MeterRegistry meterRegistry;
     
     // Setter injection to break circular dependency
     private AuthenticationManager authenticationManager;
 
+    @Value("${auth.user-cache.ttl:60s}")
+    private Duration userCacheTtl;
+
+    @Value("${auth.user-cache.max-size:10000}")
+    private long userCacheMaxSize;
+
+    @Value("${auth.principal-mode:cached}")
+    private PrincipalMode principalMode;
+
+    /**
+     * Only what UserDetails needs. A fresh UserDetails is built per lookup
+     * because Spring Security erases credentials on the instance it is given.
+     */
+    private record CachedCredentials(String email, String passwordHash) {}
+
+    private Cache<String, CachedCredentials> userDetailsCache;
+
     /**
      * Constructor injection for core dependencies
      * AuthenticationManager is injected separately to avoid circular dependency
@@ -43,10 +84,22 @@ public class UserService implements UserDetailsService {
     public UserService(
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
-            JwtUtils jwtUtils) {
+            JwtUtils jwtUtils,
+            MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtils = jwtUtils;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void initUserDetailsCache() {
+        userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(userCacheMaxSize)
+                .expireAfterWrite(userCacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userDetailsCache, "user-details");
     }
 
     /**
@@ -63,16 +116,65 @@ public class UserService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        CachedCredentials credentials = principalMode == PrincipalMode.DATABASE
+                ? loadCredentials(email)
+                : loadCachedCredentials(email);
+        if (credentials == null) {
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
 
         return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
+                credentials.email(),
+                credentials.passwordHash(),
                 new ArrayList<>()
         );
     }
 
+    private CachedCredentials loadCachedCredentials(String email) {
+        // Loaded outside the cache's compute lock so the query never pins a virtual thread;
+        // concurrent misses for one email may both query, which is harmless
+        CachedCredentials credentials = userDetailsCache.getIfPresent(email);
+        if (credentials == null) {
+            credentials = loadCredentials(email);
+            if (credentials != null) {
+                userDetailsCache.put(email, credentials);
+            }
+        }
+        return credentials;
+    }
+
+    private CachedCredentials loadCredentials(String email) {
+        return userRepository.findByEmail(email)
+                .map(user -> new CachedCredentials(user.getEmail(), user.getPassword()))
+                .orElse(null);
+    }
+
+    /**
+     * Called by DaoAuthenticationProvider after a successful sign-in whose
+     * stored hash needs upgrading; newPassword is already encoded
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        evictUserDetails(user.getEmail());
+
+        return new org.springframework.security.core.userdetails.User(
+                user.getEmail(),
+                newPassword,
+                userDetails.getAuthorities()
+        );
+    }
+
+    /**
+     * Drops the cached details for a user; call whenever the user row or password changes
+     */
+    public void evictUserDetails(String email) {
+        userDetailsCache.invalidate(email);
+    }
+
     /**
      * User registration
      * Creates a new user account and returns authentication response with JWT token
@@ -97,7 +199,7 @@ public class UserService implements UserDetailsService {
         User savedUser = userRepository.save(user);
 
         // Generate JWT token for the new user
-        String jwt = jwtUtils.generateJwtToken(savedUser.getEmail());
+        String jwt = jwtUtils.generateJwtToken(savedUser.getEmail(), savedUser.getId());
 
         // Create and return AuthResponse with all required fields
         AuthResponse response = new AuthResponse();
@@ -132,13 +234,13 @@ public class UserService implements UserDetailsService {
                 )
         );
 
-        // Generate JWT token
-        String jwt = jwtUtils.generateJwtToken(authRequest.getEmail());
-
         // Get user details from database
         User user = userRepository.findByEmail(authRequest.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        // Generate JWT token
+        String jwt = jwtUtils.generateJwtToken(user.getEmail(), user.getId());
+
         // Create and return AuthResponse with all required fields
         AuthResponse response = new AuthResponse();
         response.setToken(jwt);
@@ -163,6 +265,34 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    /**
+     * The user behind an authenticated principal. A JwtPrincipal carries the
+     * user id from the token's uid claim, so the row is read by primary key;
+     * other principals are looked up by email.
+     */
+    public UserDTO getSignedInUser(Object principal) {
+        User user;
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            user = userRepository.findById(jwtPrincipal.getId())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + jwtPrincipal.getId()));
+        } else if (principal instanceof UserDetails userDetails) {
+            user = userRepository.findByEmail(userDetails.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        } else {
+            throw new IllegalArgumentException("Unsupported principal: " + principal);
+        }
+
+        UserDTO dto = new UserDTO();
+        dto.setId(user.getId());
+        dto.setName(user.getName());
+        dto.setEmail(user.getEmail());
+        dto.setAvatarUrl(user.getAvatarUrl());
+        dto.setStylePreferences(user.getStylePreferences());
+        dto.setCountry(user.getCountry());
+        dto.setCity(user.getCity());
+        return dto;
+    }
+
     public User updateUser(String email, User userDetails) {
         User user = getCurrentUser(email);
         
@@ -182,6 +312,7 @@ public class UserService implements UserDetailsService {
             user.setCity(userDetails.getCity());
         }
         
+        // None of these fields are in the cached credentials, so there is nothing to evict
         return userRepository.save(user);
     }
 }
\ No newline at end of file
@@ -0,0 +1,183 @@
+package com.styleai.service;
+
+import com.styleai.dto.WearHistogramDTO;
+import com.styleai.entity.ClosetItem;
+import com.styleai.entity.Outfit;
+import com.styleai.entity.PlannedEvent;
+import com.styleai.entity.WearEvent;
+import com.styleai.entity.WearRollup;
+import com.styleai.repository.ClosetItemRepository;
+import com.styleai.repository.OutfitRepository;
+import com.styleai.repository.WearEventRepository;
+import com.styleai.repository.WearRollupRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Wear history: an append-only wear_events log plus daily and weekly
+ * per-item rollups maintained in the same transaction.
+ *
+ * Histograms read only rollups. A week-granularity range uses weekly rows
+ * for the whole weeks inside it and daily rows for the partial weeks at
+ * either end, so the rows read grow with the number of buckets, not with
+ * the number of wears.
+ */
+@Service
+@Timed("styleai.service")
+public class WearLogService {
+
+    public static final int MAX_DAY_BUCKETS = 366;
+    // Ranges up to this many days default to daily buckets
+    private static final int DEFAULT_DAILY_RANGE = 62;
+
+    @Autowired
+    private WearEventRepository wearEventRepository;
+
+    @Autowired
+    private WearRollupRepository wearRollupRepository;
+
+    @Autowired
+    private OutfitRepository outfitRepository;
+
+    @Autowired
+    private ClosetItemRepository closetItemRepository;
+
+    /**
+     * Logs a wear for every item of the event's outfit. Does nothing if the
+     * event was already logged or its outfit no longer exists.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordEventWorn(PlannedEvent event) {
+        if (wearEventRepository.existsByPlannedEventId(event.getId())) {
+            return;
+        }
+        Outfit outfit = outfitRepository.findById(event.getOutfitId()).orElse(null);
+        if (outfit == null || outfit.getItemIds() == null) {
+            return;
+        }
+
+        Set<Long> itemIds = new LinkedHashSet<>(outfit.getItemIds());
+        Map<Long, String> categories = new HashMap<>();
+        for (ClosetItem item : closetItemRepository.findAllById(itemIds)) {
+            categories.put(item.getId(), item.getCategory());
+        }
+
+        LocalDate day = event.getDate();
+        LocalDate week = weekStart(day);
+        for (Long itemId : itemIds) {
+            // Items deleted since the outfit was saved have nothing to attribute the wear to
+            if (!categories.containsKey(itemId)) {
+                continue;
+            }
+            String category = categories.get(itemId);
+            wearEventRepository.save(new WearEvent(itemId, category, day, event.getId()));
+            increment(WearRollup.Granularity.DAY, day, itemId, category);
+            increment(WearRollup.Granularity.WEEK, week, itemId, category);
+        }
+    }
+
+    /**
+     * Per-item (groupBy "item") or per-category (groupBy "category") wear counts
+     * between two dates inclusive. Granularity defaults to days for short ranges
+     * and weeks otherwise; day granularity is limited to MAX_DAY_BUCKETS days.
+     */
+    @Transactional(readOnly = true)
+    public WearHistogramDTO getHistogram(LocalDate startDate, LocalDate endDate, WearRollup.Granularity granularity,
+                                         String groupBy, Long itemId, String category) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (granularity == null) {
+            granularity = days <= DEFAULT_DAILY_RANGE ? WearRollup.Granularity.DAY : WearRollup.Granularity.WEEK;
+        }
+        if (granularity == WearRollup.Granularity.DAY && days > MAX_DAY_BUCKETS) {
+            throw new IllegalArgumentException("Day granularity is limited to " + MAX_DAY_BUCKETS + " days");
+        }
+        boolean byCategory = "category".equalsIgnoreCase(groupBy);
+
+        Map<String, TreeMap<LocalDate, Long>> series = new TreeMap<>();
+        if (granularity == WearRollup.Granularity.DAY) {
+            collect(series, WearRollup.Granularity.DAY, startDate, endDate, byCategory, itemId, category, false);
+        } else {
+            LocalDate firstWholeWeek = startDate.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+            LocalDate lastWholeWeek = endDate.plusDays(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(1);
+            if (firstWholeWeek.isAfter(lastWholeWeek)) {
+                collect(series, WearRollup.Granularity.DAY, startDate, endDate, byCategory, itemId, category, true);
+            } else {
+                collect(series, WearRollup.Granularity.WEEK, firstWholeWeek, lastWholeWeek, byCategory, itemId, category, false);
+                if (startDate.isBefore(firstWholeWeek)) {
+                    collect(series, WearRollup.Granularity.DAY, startDate, firstWholeWeek.minusDays(1), byCategory, itemId, category, true);
+                }
+                LocalDate afterLastWholeWeek = lastWholeWeek.plusWeeks(1);
+                if (!afterLastWholeWeek.isAfter(endDate)) {
+                    collect(series, WearRollup.Granularity.DAY, afterLastWholeWeek, endDate, byCategory, itemId, category, true);
+                }
+            }
+        }
+
+        WearHistogramDTO histogram = new WearHistogramDTO();
+        histogram.setStartDate(startDate);
+        histogram.setEndDate(endDate);
+        histogram.setGranularity(granularity.name().toLowerCase());
+        histogram.setGroupBy(byCategory ? "category" : "item");
+        for (Map.Entry<String, TreeMap<LocalDate, Long>> entry : series.entrySet()) {
+            WearHistogramDTO.Series dtoSeries = new WearHistogramDTO.Series(entry.getKey());
+            long total = 0;
+            for (Map.Entry<LocalDate, Long> bucket : entry.getValue().entrySet()) {
+                dtoSeries.getBuckets().add(new WearHistogramDTO.Bucket(bucket.getKey(), bucket.getValue()));
+                total += bucket.getValue();
+            }
+            dtoSeries.setTotal(total);
+            histogram.getSeries().add(dtoSeries);
+        }
+        return histogram;
+    }
+
+    private void collect(Map<String, TreeMap<LocalDate, Long>> series, WearRollup.Granularity granularity,
+                         LocalDate from, LocalDate to, boolean byCategory, Long itemId, String category,
+                         boolean foldIntoWeeks) {
+        List<Object[]> rows = byCategory
+                ? wearRollupRepository.sumByCategory(granularity, from, to, itemId, category)
+                : wearRollupRepository.sumByItem(granularity, from, to, itemId, category);
+        for (Object[] row : rows) {
+            String key = row[0] == null ? "uncategorized" : String.valueOf(row[0]);
+            LocalDate bucket = (LocalDate) row[1];
+            if (foldIntoWeeks) {
+                bucket = weekStart(bucket);
+            }
+            series.computeIfAbsent(key, k -> new TreeMap<>())
+                    .merge(bucket, ((Number) row[2]).longValue(), Long::sum);
+        }
+    }
+
+    // Atomic in the database: a bucket that appears between the update and the insert
+    // (another wear of the same item committing concurrently) is picked up by the second update
+    private void increment(WearRollup.Granularity granularity, LocalDate bucketStart, Long itemId, String category) {
+        if (wearRollupRepository.incrementBucket(granularity, itemId, bucketStart) > 0) {
+            return;
+        }
+        if (wearRollupRepository.insertBucketIfAbsent(granularity.name(), bucketStart, itemId, category) > 0) {
+            return;
+        }
+        wearRollupRepository.incrementBucket(granularity, itemId, bucketStart);
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
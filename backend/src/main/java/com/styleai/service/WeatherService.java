@@ -1,13 +1,50 @@
 package com.styleai.service;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Current weather lookups against OpenWeatherMap.
+ *
+ * Responses are cached per normalized (city, country) for weather.cache.ttl.
+ * Concurrent misses for the same location share one upstream call, and
+ * failed calls are not cached so the next request retries upstream.
+ *
+ * Upstream calls run on a bounded pool of weather.fetch.threads threads
+ * (virtual ones when spring.threads.virtual.enabled is set) and callers wait
+ * on the future, so a slow upstream never blocks inside the cache's internal
+ * locks. Up to weather.fetch.queue-capacity further calls wait for a thread;
+ * beyond that a call is rejected at once and the caller gets mock data
+ * instead of holding its request thread. Cache maintenance stays on
+ * Caffeine's default executor.
+ */
 @Service
+@Timed("styleai.service")
 public class WeatherService {
 
     @Value("${weather.api.key:mock-weather-key}")
@@ -16,26 +53,136 @@ public class WeatherService {
     @Value("${weather.base.url:https://api.openweathermap.org/data/2.5}")
     private String weatherBaseUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${weather.cache.ttl:10m}")
+    private Duration cacheTtl;
+
+    @Value("${weather.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${weather.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${weather.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${weather.fetch.threads:64}")
+    private int fetchThreads;
+
+    @Value("${weather.fetch.queue-capacity:256}")
+    private int fetchQueueCapacity;
+
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private RestTemplate restTemplate;
+
+    private ThreadPoolExecutor fetchPool;
+
+    private AsyncLoadingCache<LocationKey, Map<String, Object>> weatherCache;
+
+    /**
+     * Cache key; city and country are trimmed and lower-cased so
+     * "Paris, FR" and "paris, fr" share an entry.
+     */
+    private record LocationKey(String city, String country) {
+        static LocationKey of(String city, String country) {
+            return new LocationKey(normalize(city), normalize(country));
+        }
+
+        private static String normalize(String value) {
+            return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @PostConstruct
+    public void initCache() {
+        // The auto-configured builder records http.client.requests timers for each call
+        restTemplate = restTemplateBuilder
+                .rootUri(weatherBaseUrl)
+                .setConnectTimeout(connectTimeout)
+                .setReadTimeout(readTimeout)
+                .build();
+
+        // Spring Boot quietly ignores the setting below Java 21, but the executor cannot honour it
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled needs a Java 21 runtime, running on Java "
+                    + Runtime.version().feature());
+        }
+        // Virtual threads are cheap, the upstream is not, so they are bounded the same way
+        ThreadFactory threadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor("weather-fetch-").getVirtualThreadFactory()
+                : platformThreads();
+        fetchPool = new ThreadPoolExecutor(
+                fetchThreads, fetchThreads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fetchQueueCapacity),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        fetchPool.allowCoreThreadTimeOut(true);
+
+        weatherCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync((key, executor) -> CompletableFuture.supplyAsync(
+                        () -> fetchWeather(key.city(), key.country()), fetchPool));
+        CaffeineCacheMetrics.monitor(meterRegistry, weatherCache.synchronous(), "weather");
+    }
+
+    @PreDestroy
+    public void stopPool() {
+        fetchPool.shutdown();
+    }
 
     public Map<String, Object> getCurrentWeather(String city, String country) {
         // For development, return mock weather data
         if ("mock-weather-key".equals(weatherApiKey)) {
+            meterRegistry.counter("styleai.fallback.mock", "operation", "getCurrentWeather", "reason", "no_api_key").increment();
             return getMockWeatherData(city);
         }
 
         try {
-            String url = String.format("%s/weather?q=%s,%s&appid=%s&units=metric", 
-                weatherBaseUrl, city, country, weatherApiKey);
-            
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-            return parseWeatherResponse(response);
+            return weatherCache.get(LocationKey.of(city, country)).join();
         } catch (Exception e) {
-            // Fallback to mock data if API fails
+            // Fallback to mock data if API fails or the fetch pool is saturated
+            String reason = e instanceof RejectedExecutionException || e.getCause() instanceof RejectedExecutionException
+                    ? "rejected"
+                    : "error";
+            meterRegistry.counter("styleai.fallback.mock", "operation", "getCurrentWeather", "reason", reason).increment();
             return getMockWeatherData(city);
         }
     }
 
+    /**
+     * Hit, miss and load-time counters for the weather cache.
+     */
+    public CacheStats getCacheStats() {
+        return weatherCache.synchronous().stats();
+    }
+
+    private ThreadFactory platformThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "weather-fetch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private Map<String, Object> fetchWeather(String city, String country) {
+        // URI template keeps the metrics uri tag low-cardinality and the API key out of it
+        Map<String, Object> response = restTemplate.getForObject(
+            "/weather?q={city},{country}&appid={key}&units=metric", Map.class, city, country, weatherApiKey);
+        // Shared between callers for the lifetime of the entry
+        return Collections.unmodifiableMap(parseWeatherResponse(response));
+    }
+
     private Map<String, Object> getMockWeatherData(String city) {
         Map<String, Object> weather = new HashMap<>();
         weather.put("temperature", 22.0);
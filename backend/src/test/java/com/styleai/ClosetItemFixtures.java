@@ -0,0 +1,33 @@
+package com.styleai;
+
+import com.styleai.dto.ClosetItemDTO;
+import com.styleai.service.ClosetItemService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Closet items for tests. Items are removed through ClosetItemService so
+ * the stat counters and the filter index stay in step with the table.
+ */
+public final class ClosetItemFixtures {
+
+    private ClosetItemFixtures() {}
+
+    public static ClosetItemDTO item(String name) {
+        return item(name, "Tops", "Blue", List.of("Summer"));
+    }
+
+    public static ClosetItemDTO item(String name, String category, String color, List<String> seasons) {
+        ClosetItemDTO item = new ClosetItemDTO();
+        item.setName(name);
+        item.setCategory(category);
+        item.setColor(color);
+        item.setSeasons(new ArrayList<>(seasons));
+        return item;
+    }
+
+    public static void emptyCloset(ClosetItemService closetItemService) {
+        closetItemService.getAllItems().forEach(item -> closetItemService.deleteItem(item.getId()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.styleai.config;
+
+import com.styleai.dto.ClosetItemDTO;
+import com.styleai.service.ClosetItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.styleai.ClosetItemFixtures.item;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A database whose closet_items ids were handed out by IDENTITY: rows already
+ * hold the ids a freshly created sequence would start with. Runs in its own
+ * context so the sequence starts at 1 and no id block has been fetched yet.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled")
+@ActiveProfiles("dev")
+class ClosetItemSequenceInitializerTest {
+
+    private static final int EXISTING_ROWS = 120;
+
+    @Autowired
+    private ClosetItemSequenceInitializer sequenceInitializer;
+
+    @Autowired
+    private ClosetItemService closetItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void removeRows() {
+        createdIds.forEach(closetItemService::deleteItem);
+        jdbcTemplate.update("DELETE FROM closet_items WHERE id <= ?", EXISTING_ROWS);
+    }
+
+    @Test
+    void insertsAfterExistingRowsOnceTheSequenceIsAligned() {
+        for (long id = 1; id <= EXISTING_ROWS; id++) {
+            jdbcTemplate.update("INSERT INTO closet_items (id, name, category, color) VALUES (?, ?, 'Tops', 'Blue')",
+                    id, "Existing " + id);
+        }
+
+        assertThat(sequenceInitializer.alignSequence()).isTrue();
+        assertThat(sequenceInitializer.alignSequence()).isFalse();
+
+        for (int i = 0; i < 3; i++) {
+            ClosetItemDTO created = closetItemService.createItem(item("New " + i));
+            createdIds.add(created.getId());
+        }
+
+        assertThat(createdIds).allSatisfy(id -> assertThat(id).isGreaterThan(EXISTING_ROWS));
+        assertThat(createdIds).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,61 @@
+package com.styleai.controller;
+
+import com.styleai.dto.AuthResponse;
+import com.styleai.dto.SignUpRequest;
+import com.styleai.dto.UserDTO;
+import com.styleai.security.JwtPrincipal;
+import com.styleai.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * /auth/me resolves a stateless principal through the user id it carries
+ * from the token, not through its email.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class AuthControllerMeTest {
+
+    @Autowired
+    private AuthController authController;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void statelessPrincipalIsResolvedById() {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName("Me Test");
+        signUp.setEmail("me-test@example.com");
+        signUp.setPassword("secret-password");
+        AuthResponse signedUp = userService.signUp(signUp);
+
+        // An email that no longer matches shows the lookup goes by id
+        JwtPrincipal principal = new JwtPrincipal(signedUp.getId(), "renamed@example.com");
+        ResponseEntity<UserDTO> response = authController.me(
+                new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList()));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getId()).isEqualTo(signedUp.getId());
+        assertThat(response.getBody().getEmail()).isEqualTo("me-test@example.com");
+        assertThat(response.getBody().getName()).isEqualTo("Me Test");
+    }
+
+    @Test
+    void unknownUserIsUnauthorized() {
+        ResponseEntity<UserDTO> response = authController.me(new UsernamePasswordAuthenticationToken(
+                new JwtPrincipal(Long.MAX_VALUE, "gone@example.com"), null, Collections.emptyList()));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+}
@@ -0,0 +1,46 @@
+package com.styleai.controller;
+
+import com.styleai.dto.ClosetItemBulkResultDTO;
+import com.styleai.dto.ClosetItemDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.styleai.ClosetItemFixtures.item;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A bulk import over closet.bulk.max-items is rejected with the same result
+ * body as per-item validation errors, and nothing is saved.
+ */
+@SpringBootTest(properties = "closet.bulk.max-items=3")
+@ActiveProfiles("dev")
+class ClosetItemBulkLimitTest {
+
+    @Autowired
+    private ClosetItemController closetItemController;
+
+    @Test
+    void overLimitImportIsRejectedWithAnErrorBody() {
+        List<ClosetItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            items.add(item("Item " + i));
+        }
+
+        ResponseEntity<ClosetItemBulkResultDTO> response = closetItemController.createItems(items);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getCreatedCount()).isZero();
+        assertThat(response.getBody().getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getIndex()).isEqualTo(3);
+            assertThat(error.getMessage()).isEqualTo("At most 3 items can be imported at once");
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.styleai.controller;
+
+import com.styleai.dto.ClosetItemDTO;
+import com.styleai.service.ClosetItemService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.styleai.ClosetItemFixtures.emptyCloset;
+import static com.styleai.ClosetItemFixtures.item;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression guard for the N+1 on item seasons: listing the closet through
+ * GET /closet-items, filtered or not, must take a fixed number of statements
+ * however many items it holds. Reads run inside a transaction so a lazy
+ * season load would show up as an extra statement rather than a
+ * LazyInitializationException.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "closet.filter-index.enabled=false"
+})
+@ActiveProfiles("dev")
+class ClosetItemQueryCountTest {
+
+    private static final int ITEM_COUNT = 50;
+
+    @Autowired
+    private ClosetItemController closetItemController;
+
+    @Autowired
+    private ClosetItemService closetItemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void fillCloset() {
+        emptyCloset(closetItemService);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            closetItemService.createItem(item("Item " + i, i % 2 == 0 ? "Tops" : "Bottoms", "Blue",
+                    List.of("Spring", "Summer")));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listingAllItemsTakesOneStatement() {
+        List<ClosetItemDTO> items = countingStatements(() -> closetItemController.getAllItems(null, null, null));
+
+        assertThat(items).hasSize(ITEM_COUNT);
+        assertThat(items).allSatisfy(item -> assertThat(item.getSeasons()).containsExactlyInAnyOrder("Spring", "Summer"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void filteringTakesOneStatement() {
+        List<ClosetItemDTO> items = countingStatements(() -> closetItemController.getAllItems("Tops", null, "Summer"));
+
+        assertThat(items).hasSize(ITEM_COUNT / 2);
+        assertThat(items).allSatisfy(item -> assertThat(item.getSeasons()).containsExactlyInAnyOrder("Spring", "Summer"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listingOneCategoryTakesOneStatement() {
+        List<ClosetItemDTO> items = countingStatements(() -> closetItemController.getAllItems("Bottoms", null, null));
+
+        assertThat(items).hasSize(ITEM_COUNT / 2);
+        assertThat(items).allSatisfy(item -> {
+            assertThat(item.getCategory()).isEqualTo("Bottoms");
+            assertThat(item.getSeasons()).containsExactlyInAnyOrder("Spring", "Summer");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private List<ClosetItemDTO> countingStatements(Supplier<ResponseEntity<List<ClosetItemDTO>>> request) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        statistics.clear();
+        return transaction.execute(status -> request.get().getBody());
+    }
+}
@@ -0,0 +1,130 @@
+package com.styleai.repository;
+
+import com.styleai.entity.PlannedEvent;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The planned_events indexes exist with the intended column order, and H2
+ * picks them for the date, calendar-range and outfit lookups. The plans are
+ * taken for the SQL Hibernate generates for each repository method, as
+ * recorded by a statement inspector, with the method's arguments bound.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.styleai.repository.PlannedEventIndexTest$RecordingInspector")
+@ActiveProfiles("dev")
+class PlannedEventIndexTest {
+
+    /**
+     * Keeps every statement Hibernate prepares. Hibernate creates the
+     * instance itself, so the statements are held statically.
+     */
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private PlannedEventRepository plannedEventRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void planAYear() {
+        plannedEventRepository.deleteAll();
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        List<PlannedEvent> events = new ArrayList<>();
+        for (int i = 0; i < 366; i++) {
+            events.add(new PlannedEvent(day.plusDays(i), "Work", (long) (i % 40) + 1, List.of("Morning")));
+        }
+        plannedEventRepository.saveAll(events);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void indexesExistWithTheirColumns() throws SQLException {
+        Map<String, List<String>> indexes = indexColumns("PLANNED_EVENTS");
+
+        assertThat(indexes).containsEntry("IDX_PLANNED_EVENTS_DATE_ID", List.of("DATE", "ID"));
+        assertThat(indexes).containsEntry("IDX_PLANNED_EVENTS_OUTFIT_ID", List.of("OUTFIT_ID"));
+        assertThat(indexColumns("EVENT_TIMES")).containsEntry("IDX_EVENT_TIMES_EVENT_ID", List.of("EVENT_ID"));
+    }
+
+    @Test
+    void dateLookupUsesDateIndex() {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        String plan = explain(generatedSql(() -> plannedEventRepository.findByDate(day)), day);
+
+        assertThat(plan).containsIgnoringCase("IDX_PLANNED_EVENTS_DATE_ID");
+    }
+
+    @Test
+    void calendarRangeUsesDateIndexForFilterAndOrder() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 3, 7);
+        String plan = explain(generatedSql(() -> plannedEventRepository.findCalendarRange(start, end)), start, end);
+
+        assertThat(plan).containsIgnoringCase("IDX_PLANNED_EVENTS_DATE_ID");
+        // No separate sort step: rows come out of the index already in (date, id) order
+        assertThat(plan).containsIgnoringCase("index sorted");
+    }
+
+    @Test
+    void outfitLookupUsesOutfitIndex() {
+        String plan = explain(generatedSql(() -> plannedEventRepository.findByOutfitId(7L)), 7L);
+
+        assertThat(plan).containsIgnoringCase("IDX_PLANNED_EVENTS_OUTFIT_ID");
+    }
+
+    // The one statement a repository call prepared
+    private String generatedSql(Runnable repositoryCall) {
+        RecordingInspector.STATEMENTS.clear();
+        repositoryCall.run();
+        assertThat(RecordingInspector.STATEMENTS).hasSize(1);
+        return RecordingInspector.STATEMENTS.get(0);
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    private Map<String, List<String>> indexColumns(String table) throws SQLException {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rows = connection.getMetaData().getIndexInfo(null, "PUBLIC", table, false, false)) {
+            while (rows.next()) {
+                // Rows come ordered by index name, then column position
+                indexes.computeIfAbsent(rows.getString("INDEX_NAME"), name -> new ArrayList<>())
+                        .add(rows.getString("COLUMN_NAME"));
+            }
+        }
+        return indexes;
+    }
+}
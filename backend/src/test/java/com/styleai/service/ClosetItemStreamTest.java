@@ -0,0 +1,63 @@
+package com.styleai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.styleai.dto.ClosetItemDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.styleai.ClosetItemFixtures.emptyCloset;
+import static com.styleai.ClosetItemFixtures.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams a non-empty closet the way /closet-items/stream does: each item is
+ * serialized by the sink while the stream is still open, after its entity has
+ * been detached. Runs without a test transaction so items are read back from
+ * a fresh persistence context, with lazy seasons.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class ClosetItemStreamTest {
+
+    @Autowired
+    private ClosetItemService closetItemService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void clearCloset() {
+        emptyCloset(closetItemService);
+    }
+
+    @Test
+    void streamsItemsWithTheirSeasons() {
+        // More than one stream batch, so seasons of a detached batch are never touched lazily
+        int itemCount = 150;
+        for (int i = 0; i < itemCount; i++) {
+            closetItemService.createItem(item("Shirt " + i, "Tops", "Blue", List.of("Spring", "Summer")));
+        }
+
+        List<String> lines = new ArrayList<>();
+        closetItemService.streamAllItems(item -> {
+            try {
+                lines.add(objectMapper.writeValueAsString(item));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertThat(lines).hasSize(itemCount);
+        assertThat(lines.get(0)).contains("\"Shirt 0\"").contains("[\"Spring\",\"Summer\"]");
+        assertThat(lines.get(itemCount - 1)).contains("\"Shirt " + (itemCount - 1) + "\"");
+    }
+}
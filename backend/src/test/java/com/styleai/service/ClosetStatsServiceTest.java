@@ -0,0 +1,66 @@
+package com.styleai.service;
+
+import com.styleai.dto.ClosetItemDTO;
+import com.styleai.dto.ClosetStatsDTO;
+import com.styleai.repository.ClosetStatCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.styleai.ClosetItemFixtures.emptyCloset;
+import static com.styleai.ClosetItemFixtures.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counters built from the items table match the ones kept up to date by
+ * item writes, and building again once counters exist changes nothing.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class ClosetStatsServiceTest {
+
+    @Autowired
+    private ClosetStatsService closetStatsService;
+
+    @Autowired
+    private ClosetItemService closetItemService;
+
+    @Autowired
+    private ClosetStatCounterRepository closetStatCounterRepository;
+
+    @BeforeEach
+    void clearCloset() {
+        emptyCloset(closetItemService);
+    }
+
+    @Test
+    void buildMatchesIncrementalCounts() {
+        closetItemService.createItem(item("Shirt", "Tops", "Blue", List.of("Spring", "Summer")));
+        closetItemService.createItem(item("Jeans", "Bottoms", "Blue", List.of("Autumn")));
+        ClosetItemDTO coat = closetItemService.createItem(item("Coat", "Outerwear", "Black", List.of("Winter")));
+        closetItemService.deleteItem(coat.getId());
+
+        ClosetStatsDTO incremental = closetStatsService.getStats();
+        assertThat(incremental.getTotalItems()).isEqualTo(2);
+        assertThat(incremental.getColorCounts()).isEqualTo(Map.of("Blue", 2));
+
+        closetStatCounterRepository.deleteAll();
+        closetStatsService.afterSingletonsInstantiated();
+        long counters = closetStatCounterRepository.count();
+        closetStatsService.afterSingletonsInstantiated();
+
+        assertThat(closetStatCounterRepository.count()).isEqualTo(counters);
+        ClosetStatsDTO built = closetStatsService.getStats();
+        assertThat(built.getTotalItems()).isEqualTo(incremental.getTotalItems());
+        assertThat(built.getNeverWornCount()).isEqualTo(incremental.getNeverWornCount());
+        assertThat(built.getCategoryCounts()).isEqualTo(incremental.getCategoryCounts());
+        assertThat(built.getColorCounts()).isEqualTo(incremental.getColorCounts());
+        assertThat(built.getSeasonCounts()).isEqualTo(incremental.getSeasonCounts());
+    }
+}
@@ -0,0 +1,40 @@
+package com.styleai.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Image hashing is strict about its base64 input, so two different strings
+ * can only share a cache entry when they encode the same image.
+ */
+class ImageAnalysisCacheTest {
+
+    private final ImageAnalysisCache imageAnalysisCache = new ImageAnalysisCache();
+
+    private final byte[] image = "not really a png".getBytes(StandardCharsets.UTF_8);
+    private final String imageBase64 = Base64.getEncoder().encodeToString(image);
+
+    @Test
+    void hashesTheDecodedBytes() {
+        assertThat(imageAnalysisCache.hashOf(imageBase64)).isEqualTo(imageAnalysisCache.hashOf(image));
+    }
+
+    @Test
+    void ignoresADataUrlPrefix() {
+        assertThat(imageAnalysisCache.hashOf("data:image/png;base64," + imageBase64))
+                .isEqualTo(imageAnalysisCache.hashOf(imageBase64));
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThatIllegalArgumentException().isThrownBy(() -> imageAnalysisCache.hashOf("not base64 at all!"));
+        // Illegal characters in otherwise valid base64 are not skipped
+        assertThatIllegalArgumentException().isThrownBy(() -> imageAnalysisCache.hashOf(imageBase64 + "!!!!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> imageAnalysisCache.hashOf("%%" + imageBase64));
+    }
+}
@@ -0,0 +1,50 @@
+package com.styleai.service;
+
+import com.styleai.dto.AuthRequest;
+import com.styleai.dto.SignUpRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A sign-in after updatePassword checks against the new hash, not the one
+ * left in the user details cache by the previous sign-in.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class UserServicePasswordUpdateTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void signInAfterPasswordUpdateUsesNewHash() {
+        SignUpRequest signUp = new SignUpRequest();
+        signUp.setName("Password Update");
+        signUp.setEmail("password-update@example.com");
+        signUp.setPassword("old-password");
+        userService.signUp(signUp);
+
+        // Puts the old hash in the cache
+        assertThat(userService.signIn(new AuthRequest("password-update@example.com", "old-password")).getToken())
+                .isNotBlank();
+
+        UserDetails cached = userService.loadUserByUsername("password-update@example.com");
+        userService.updatePassword(cached, passwordEncoder.encode("new-password"));
+
+        assertThat(userService.signIn(new AuthRequest("password-update@example.com", "new-password")).getToken())
+                .isNotBlank();
+        assertThatThrownBy(() -> userService.signIn(new AuthRequest("password-update@example.com", "old-password")))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+}
@@ -55,6 +55,57 @@ const apiRequest = async (endpoint, options = {}) => {
   }
 }
 
+// Streams an NDJSON response, calling onResult for each line as it arrives
+const apiStream = async (endpoint, options = {}, onResult) => {
+  const url = `${API_BASE_URL}${endpoint}`
+  const token = getAuthToken()
+
+  const config = {
+    headers: {
+      'Content-Type': 'application/json',
+      Accept: 'application/x-ndjson',
+      ...(token && { Authorization: `Bearer ${token}` }),
+      ...options.headers,
+    },
+    ...options,
+  }
+
+  const response = await fetch(url, config)
+
+  if (response.status === 401) {
+    clearAuthToken()
+    window.location.href = '/'
+    return []
+  }
+
+  if (!response.ok) {
+    throw new Error(`HTTP error! status: ${response.status}`)
+  }
+
+  const reader = response.body.getReader()
+  const decoder = new TextDecoder()
+  const results = []
+  let buffered = ''
+  const emit = (line) => {
+    if (line.trim()) {
+      const result = JSON.parse(line)
+      results.push(result)
+      onResult?.(result)
+    }
+  }
+
+  for (;;) {
+    const { done, value } = await reader.read()
+    if (done) break
+    buffered += decoder.decode(value, { stream: true })
+    const lines = buffered.split('\n')
+    buffered = lines.pop()
+    lines.forEach(emit)
+  }
+  emit(buffered + decoder.decode())
+  return results
+}
+
 // Auth API
 export const authAPI = {
   signUp: (userData) => apiRequest('/auth/signup', {
@@ -133,6 +184,13 @@ export const eventsAPI = {
   },
   
   getById: (id) => apiRequest(`/planned-events/${id}`),
+
+  // Events plus their outfits and items for one month, e.g. getCalendar('2024-05')
+  getCalendar: (month) => apiRequest(`/planned-events/calendar?month=${month}`),
+
+  complete: (id) => apiRequest(`/planned-events/${id}/complete`, {
+    method: 'POST',
+  }),
   
   create: (event) => apiRequest('/planned-events', {
     method: 'POST',
@@ -165,6 +223,19 @@ export const aiAPI = {
     body: JSON.stringify({ imageBase64 }),
   }),
   
+  // Multipart upload; the backend downscales the photo before analysis
+  analyzeImageFile: (file) => {
+    const body = new FormData()
+    body.append('image', file)
+    const token = getAuthToken()
+    return apiRequest('/ai-enhanced/analyze-clothing-image/upload', {
+      method: 'POST',
+      body,
+      // Let the browser set the multipart boundary
+      headers: token ? { Authorization: `Bearer ${token}` } : {},
+    })
+  },
+  
   generateImage: (itemName, description) => apiRequest('/ai-enhanced/generate-clothing-image', {
     method: 'POST',
     body: JSON.stringify({ itemName, description }),
@@ -174,6 +245,35 @@ export const aiAPI = {
     method: 'POST',
   }),
   
+  // Batch analysis streams one result per distinct input ({ indexes, analysis, fallback, fallbackReason, error })
+  analyzeTexts: (itemNames, onResult) => apiStream('/ai-enhanced/analyze-text/batch', {
+    method: 'POST',
+    body: JSON.stringify({ itemNames }),
+  }, onResult),
+  
+  analyzeImages: (imagesBase64, onResult) => apiStream('/ai-enhanced/analyze-clothing-image/batch', {
+    method: 'POST',
+    body: JSON.stringify({ imagesBase64 }),
+  }, onResult),
+  
+  analyzeImageFiles: (files, onResult) => {
+    const body = new FormData()
+    files.forEach((file) => body.append('images', file))
+    const token = getAuthToken()
+    return apiStream('/ai-enhanced/analyze-clothing-image/upload/batch', {
+      method: 'POST',
+      body,
+      // Let the browser set the multipart boundary
+      headers: token ? { Authorization: `Bearer ${token}` } : {},
+    }, onResult)
+  },
+  
+  // Keyword classification only; answers locally without calling Gemini
+  classifyTexts: (itemNames) => apiRequest('/ai-enhanced/classify-text/batch', {
+    method: 'POST',
+    body: JSON.stringify({ itemNames }),
+  }),
+  
   getOutfitSuggestions: (data) => apiRequest('/ai/outfit-suggestions', {
     method: 'POST',
     body: JSON.stringify(data),
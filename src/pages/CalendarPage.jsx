@@ -166,7 +166,6 @@ export default function CalendarPage() {
     startTransition(async () => {
       try {
         const result = await aiAPI.getWeatherBasedSuggestions({ 
-            closetItems: closetItems,
             occasion: occasion,
             timesOfDay: timesOfDay,
             userPreferences: user?.stylePreferences,
@@ -105,23 +105,10 @@ export default function ScanPage() {
     }
   }, [isEditMode, itemToEdit, form])
 
-  const convertFileToBase64 = (file) => {
-    return new Promise((resolve, reject) => {
-      const reader = new FileReader()
-      reader.readAsDataURL(file)
-      reader.onload = () => {
-        const base64 = reader.result.split(',')[1] // Remove data:image/jpeg;base64, prefix
-        resolve(base64)
-      }
-      reader.onerror = error => reject(error)
-    })
-  }
-
   const handleImageAnalysis = async (file) => {
     setIsAIProcessing(true)
     try {
-      const base64 = await convertFileToBase64(file)
-      const analysis = await aiAPI.analyzeImage(base64)
+      const analysis = await aiAPI.analyzeImageFile(file)
       
       setAiSuggestion(analysis)
       